@@ -12,6 +12,32 @@ CREATE TABLE canciones (
     ruta_archivo TEXT
 );
 
+-- Índice de texto completo (FTS5) sobre titulo, artista y album
+-- De contenido externo: guarda solo el índice y lee el texto de canciones
+CREATE VIRTUAL TABLE canciones_fts USING fts5(
+    titulo, artista, album,
+    content = 'canciones', content_rowid = 'id',
+    tokenize = 'unicode61 remove_diacritics 2'
+);
+
+-- Triggers que mantienen el índice sincronizado con canciones
+CREATE TRIGGER canciones_fts_insertar AFTER INSERT ON canciones BEGIN
+    INSERT INTO canciones_fts (rowid, titulo, artista, album)
+    VALUES (new.id, new.titulo, new.artista, new.album);
+END;
+
+CREATE TRIGGER canciones_fts_eliminar AFTER DELETE ON canciones BEGIN
+    INSERT INTO canciones_fts (canciones_fts, rowid, titulo, artista, album)
+    VALUES ('delete', old.id, old.titulo, old.artista, old.album);
+END;
+
+CREATE TRIGGER canciones_fts_actualizar AFTER UPDATE OF titulo, artista, album ON canciones BEGIN
+    INSERT INTO canciones_fts (canciones_fts, rowid, titulo, artista, album)
+    VALUES ('delete', old.id, old.titulo, old.artista, old.album);
+    INSERT INTO canciones_fts (rowid, titulo, artista, album)
+    VALUES (new.id, new.titulo, new.artista, new.album);
+END;
+
 -- Insertar datos de ejemplo
 INSERT INTO canciones (titulo, artista, album, duracion, ruta_archivo) VALUES
 ('Bohemian Rhapsody', 'Queen', 'A Night at the Opera', 354, '/music/queen/bohemian_rhapsody.mp3'),
@@ -24,3 +50,8 @@ INSERT INTO canciones (titulo, artista, album, duracion, ruta_archivo) VALUES
 ('Hey Jude', 'The Beatles', 'Hey Jude', 431, '/music/beatles/hey_jude.mp3'),
 ('Wonderwall', 'Oasis', 'Whats the Story Morning Glory', 258, '/music/oasis/wonderwall.mp3'),
 ('November Rain', 'Guns N Roses', 'Use Your Illusion I', 537, '/music/guns_n_roses/november_rain.mp3');
+
+-- Búsqueda por prefijos ordenada por relevancia (título pesa más)
+-- SELECT c.* FROM canciones_fts JOIN canciones c ON c.id = canciones_fts.rowid
+-- WHERE canciones_fts MATCH '"bohem"* "rhap"*'
+-- ORDER BY bm25(canciones_fts, 10.0, 5.0, 1.0), c.id;
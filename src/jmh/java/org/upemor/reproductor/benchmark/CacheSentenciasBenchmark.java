@@ -0,0 +1,128 @@
+package org.upemor.reproductor.benchmark;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.upemor.reproductor.model.repository.CacheSentencias;
+
+/**
+ * Latencia por consulta con y sin caché de sentencias preparadas
+ * Usa una base SQLite temporal con la misma tabla que la aplicación.
+ * "sinCache" prepara y cierra la sentencia en cada llamada, como lo hacía
+ * CancionRepository; "conCache" la toma de CacheSentencias.
+ * @author Sistema Reproductor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheSentenciasBenchmark {
+    private static final String POR_ID = "SELECT * FROM canciones WHERE id = ?";
+    private static final String BUSCAR = "SELECT * FROM canciones WHERE titulo LIKE ? OR artista LIKE ? ORDER BY id";
+    
+    @Param({"1000", "100000"})
+    private int filas;
+    
+    private File archivo;
+    private Connection conexion;
+    private CacheSentencias cache;
+    private long siguienteId;
+    
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        archivo = File.createTempFile("canciones-benchmark", ".db");
+        conexion = DriverManager.getConnection("jdbc:sqlite:" + archivo.getAbsolutePath());
+        
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE canciones (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    titulo TEXT NOT NULL,
+                    artista TEXT NOT NULL,
+                    album TEXT,
+                    duracion INTEGER NOT NULL,
+                    ruta_archivo TEXT
+                )
+            """);
+        }
+        
+        conexion.setAutoCommit(false);
+        try (PreparedStatement insertar = conexion.prepareStatement(
+                "INSERT INTO canciones (titulo, artista, album, duracion, ruta_archivo) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < filas; i++) {
+                insertar.setString(1, "Cancion " + i);
+                insertar.setString(2, "Artista " + (i % 500));
+                insertar.setString(3, "Album " + (i % 2000));
+                insertar.setInt(4, 120 + i % 300);
+                insertar.setString(5, "/music/" + i + ".mp3");
+                insertar.addBatch();
+            }
+            insertar.executeBatch();
+        }
+        conexion.commit();
+        conexion.setAutoCommit(true);
+        
+        cache = new CacheSentencias(conexion);
+    }
+    
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        cache.cerrar();
+        archivo.delete();
+    }
+    
+    private long idSiguiente() {
+        siguienteId = siguienteId % filas + 1;
+        return siguienteId;
+    }
+    
+    @Benchmark
+    public String obtenerPorIdSinCache() throws Exception {
+        try (PreparedStatement stmt = conexion.prepareStatement(POR_ID)) {
+            stmt.setLong(1, idSiguiente());
+            return leerTitulo(stmt);
+        }
+    }
+    
+    @Benchmark
+    public String obtenerPorIdConCache() throws Exception {
+        PreparedStatement stmt = cache.preparar(POR_ID);
+        stmt.setLong(1, idSiguiente());
+        return leerTitulo(stmt);
+    }
+    
+    // Búsqueda selectiva (un artista), como la de la biblioteca
+    @Benchmark
+    public String buscarSinCache() throws Exception {
+        try (PreparedStatement stmt = conexion.prepareStatement(BUSCAR)) {
+            asignarBusqueda(stmt);
+            return leerTitulo(stmt);
+        }
+    }
+    
+    @Benchmark
+    public String buscarConCache() throws Exception {
+        PreparedStatement stmt = cache.preparar(BUSCAR);
+        asignarBusqueda(stmt);
+        return leerTitulo(stmt);
+    }
+    
+    private void asignarBusqueda(PreparedStatement stmt) throws Exception {
+        String patron = "%Artista " + (idSiguiente() % 500) + "%";
+        stmt.setString(1, patron);
+        stmt.setString(2, patron);
+    }
+    
+    private String leerTitulo(PreparedStatement stmt) throws Exception {
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getString("titulo") : null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.upemor.reproductor.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.upemor.reproductor.estructuras.MiColaConcurrente;
+
+/**
+ * Prueba de estrés de MiColaConcurrente con varios productores y varios
+ * consumidores a la vez.
+ *
+ * Cada productor encola valores numerados (productor * porProductor + i).
+ * Al final se comprueba que cada valor salió exactamente una vez y que cada
+ * consumidor vio los valores de un mismo productor en el orden en que se
+ * encolaron. Termina con código 1 si algo falla.
+ *
+ * Uso: mvn -P benchmark compile exec:java
+ *          -Dexec.mainClass=org.upemor.reproductor.benchmark.EstresColaConcurrente -Dexec.args="8 4 200000"
+ * @author Sistema Reproductor
+ */
+public class EstresColaConcurrente {
+    
+    public static void main(String[] args) throws InterruptedException {
+        int productores = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int consumidores = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int porProductor = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        int total = productores * porProductor;
+        
+        MiColaConcurrente<Integer> cola = new MiColaConcurrente<>();
+        AtomicIntegerArray recibidos = new AtomicIntegerArray(total);
+        AtomicInteger pendientes = new AtomicInteger(total);
+        AtomicInteger fueraDeOrden = new AtomicInteger();
+        CountDownLatch salida = new CountDownLatch(1);
+        Thread[] hilos = new Thread[productores + consumidores];
+        
+        for (int p = 0; p < productores; p++) {
+            int base = p * porProductor;
+            hilos[p] = new Thread(() -> {
+                esperar(salida);
+                for (int i = 0; i < porProductor; i++) {
+                    cola.encolar(base + i);
+                }
+            }, "productor-" + p);
+        }
+        for (int c = 0; c < consumidores; c++) {
+            hilos[productores + c] = new Thread(() -> {
+                // Último valor visto de cada productor por este consumidor
+                int[] ultimo = new int[productores];
+                Arrays.fill(ultimo, -1);
+                esperar(salida);
+                while (pendientes.get() > 0) {
+                    Integer valor = cola.desencolar();
+                    if (valor == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    int productor = valor / porProductor;
+                    if (valor <= ultimo[productor]) {
+                        fueraDeOrden.incrementAndGet();
+                    }
+                    ultimo[productor] = valor;
+                    recibidos.incrementAndGet(valor);
+                    pendientes.decrementAndGet();
+                }
+            }, "consumidor-" + c);
+        }
+        
+        for (Thread hilo : hilos) {
+            hilo.start();
+        }
+        long inicio = System.nanoTime();
+        salida.countDown();
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        long milis = (System.nanoTime() - inicio) / 1_000_000;
+        
+        int perdidos = 0;
+        int duplicados = 0;
+        for (int i = 0; i < total; i++) {
+            int veces = recibidos.get(i);
+            if (veces == 0) {
+                perdidos++;
+            } else if (veces > 1) {
+                duplicados++;
+            }
+        }
+        boolean sobrantes = !cola.estaVacia();
+        
+        System.out.printf("Productores: %d, consumidores: %d, elementos: %,d (%,d ms)%n",
+            productores, consumidores, total, milis);
+        System.out.printf("Perdidos: %d, duplicados: %d, fuera de orden: %d, sobrantes en la cola: %s%n",
+            perdidos, duplicados, fueraDeOrden.get(), sobrantes ? "sí" : "no");
+        
+        if (perdidos > 0 || duplicados > 0 || fueraDeOrden.get() > 0 || sobrantes) {
+            System.out.println("FALLA");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+    
+    private static void esperar(CountDownLatch salida) {
+        try {
+            salida.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
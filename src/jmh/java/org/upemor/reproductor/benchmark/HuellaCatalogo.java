@@ -0,0 +1,61 @@
+package org.upemor.reproductor.benchmark;
+
+import java.util.Random;
+import org.openjdk.jol.info.GraphLayout;
+import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiListaIndexada;
+import org.upemor.reproductor.model.catalogo.CatalogoCompacto;
+import org.upemor.reproductor.model.entity.Cancion;
+
+/**
+ * Compara la memoria que ocupa una biblioteca como MiLista de Cancion
+ * contra la misma biblioteca en CatalogoCompacto (medido con JOL).
+ *
+ * Los textos se generan como cadenas distintas por fila, igual que cuando
+ * llegan del ResultSet: dos "Queen" leídos de la base de datos son dos
+ * objetos String aunque tengan el mismo contenido.
+ *
+ * Uso: mvn -P benchmark compile exec:java
+ *          -Dexec.mainClass=org.upemor.reproductor.benchmark.HuellaCatalogo -Dexec.args=500000
+ * @author Sistema Reproductor
+ */
+public class HuellaCatalogo {
+    private static final int ARTISTAS = 5000;
+    private static final int ALBUMES_POR_ARTISTA = 8;
+    
+    public static void main(String[] args) {
+        int canciones = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        
+        MiLista<Cancion> lista = new MiListaIndexada<>();
+        CatalogoCompacto catalogo = new CatalogoCompacto(canciones);
+        
+        Random aleatorio = new Random(42);
+        for (int i = 0; i < canciones; i++) {
+            int artista = aleatorio.nextInt(ARTISTAS);
+            int album = aleatorio.nextInt(ALBUMES_POR_ARTISTA);
+            
+            Cancion cancion = new Cancion(
+                (long) i + 1,
+                new String("Canción " + i),
+                new String("Artista " + artista),
+                new String("Álbum " + artista + "-" + album),
+                120 + aleatorio.nextInt(300),
+                new String("/musica/Artista " + artista + "/Álbum " + album + "/pista" + i + ".mp3"));
+            
+            lista.agregar(cancion);
+            catalogo.agregar(cancion);
+        }
+        
+        long bytesLista = GraphLayout.parseInstance(lista).totalSize();
+        long bytesCatalogo = GraphLayout.parseInstance(catalogo).totalSize();
+        
+        System.out.printf("Canciones:          %,d (%,d artistas, %,d álbumes)%n",
+            canciones, catalogo.cantidadArtistas(), catalogo.cantidadAlbumes());
+        System.out.printf("MiLista<Cancion>:   %,d bytes (%,d por canción)%n",
+            bytesLista, bytesLista / canciones);
+        System.out.printf("CatalogoCompacto:   %,d bytes (%,d por canción)%n",
+            bytesCatalogo, bytesCatalogo / canciones);
+        System.out.printf("Ahorro:             %.1f%%%n",
+            100.0 * (bytesLista - bytesCatalogo) / bytesLista);
+    }
+}
@@ -0,0 +1,61 @@
+package org.upemor.reproductor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.upemor.reproductor.estructuras.MiCola;
+import org.upemor.reproductor.estructuras.MiColaCircular;
+import org.upemor.reproductor.estructuras.MiLista;
+
+/**
+ * Benchmark de la cola enlazada (MiCola) contra la cola sobre arreglo circular
+ * Encolar y desencolar se miden en pareja sobre una cola con 'tamanio'
+ * elementos, así el tamaño no cambia entre invocaciones.
+ * @author Sistema Reproductor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MiColaBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    private int tamanio;
+    
+    private MiCola<Integer> cola;
+    private MiColaCircular<Integer> colaCircular;
+    
+    @Setup(Level.Trial)
+    public void preparar() {
+        cola = new MiCola<>();
+        colaCircular = new MiColaCircular<>();
+        for (int i = 0; i < tamanio; i++) {
+            cola.encolar(i);
+            colaCircular.encolar(i);
+        }
+    }
+    
+    @Benchmark
+    public Integer encolarDesencolar() {
+        cola.encolar(tamanio);
+        return cola.desencolar();
+    }
+    
+    @Benchmark
+    public Integer encolarDesencolarCircular() {
+        colaCircular.encolar(tamanio);
+        return colaCircular.desencolar();
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MiLista<Integer> aLista() {
+        return cola.aLista();
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MiLista<Integer> aListaCircular() {
+        return colaCircular.aLista();
+    }
+}
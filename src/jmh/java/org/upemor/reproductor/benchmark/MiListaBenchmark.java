@@ -0,0 +1,102 @@
+package org.upemor.reproductor.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiListaIndexada;
+
+/**
+ * Benchmark de las operaciones básicas de MiLista
+ * Compara la lista enlazada original contra la lista indexada por bloques.
+ *
+ * Las posiciones y valores se generan al inicio (semilla fija) para que
+ * el costo de generarlos no se mida.
+ * @author Sistema Reproductor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MiListaBenchmark {
+    private static final int POSICIONES = 1024; // Potencia de dos: se recorre con máscara
+    
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    private int tamanio;
+    
+    @Param({"MiLista", "MiListaIndexada"})
+    private String implementacion;
+    
+    private MiLista<Integer> lista;
+    private int[] posiciones;
+    private int cursor;
+    
+    @Setup(Level.Trial)
+    public void preparar() {
+        lista = crearLista();
+        for (int i = 0; i < tamanio; i++) {
+            lista.agregar(i);
+        }
+        
+        Random aleatorio = new Random(42);
+        posiciones = new int[POSICIONES];
+        for (int i = 0; i < POSICIONES; i++) {
+            posiciones[i] = aleatorio.nextInt(tamanio);
+        }
+        cursor = 0;
+    }
+    
+    private MiLista<Integer> crearLista() {
+        return "MiListaIndexada".equals(implementacion)
+            ? new MiListaIndexada<>()
+            : new MiLista<>();
+    }
+    
+    private int siguientePosicion() {
+        return posiciones[cursor++ & (POSICIONES - 1)];
+    }
+    
+    /**
+     * Llena una lista nueva con 'tamanio' elementos (agregar al final)
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MiLista<Integer> agregar() {
+        MiLista<Integer> nueva = crearLista();
+        for (int i = 0; i < tamanio; i++) {
+            nueva.agregar(i);
+        }
+        return nueva;
+    }
+    
+    /**
+     * Acceso por índice en una posición aleatoria
+     */
+    @Benchmark
+    public Integer obtener() {
+        return lista.obtener(siguientePosicion());
+    }
+    
+    /**
+     * Elimina en una posición aleatoria y vuelve a agregar al final
+     * para que el tamaño se mantenga constante durante la medición
+     */
+    @Benchmark
+    public boolean eliminar() {
+        int posicion = siguientePosicion();
+        Integer dato = lista.obtener(posicion);
+        boolean eliminado = lista.eliminar(posicion);
+        lista.agregar(dato);
+        return eliminado;
+    }
+    
+    /**
+     * Búsqueda lineal de un valor que sí existe
+     */
+    @Benchmark
+    public int buscar() {
+        return lista.buscar(siguientePosicion());
+    }
+}
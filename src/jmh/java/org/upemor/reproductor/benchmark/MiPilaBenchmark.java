@@ -0,0 +1,43 @@
+package org.upemor.reproductor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiPila;
+
+/**
+ * Benchmark de MiPila: apilar/desapilar en pareja y conversión a lista
+ * @author Sistema Reproductor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MiPilaBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    private int tamanio;
+    
+    private MiPila<Integer> pila;
+    
+    @Setup(Level.Trial)
+    public void preparar() {
+        pila = new MiPila<>();
+        for (int i = 0; i < tamanio; i++) {
+            pila.apilar(i);
+        }
+    }
+    
+    @Benchmark
+    public Integer apilarDesapilar() {
+        pila.apilar(tamanio);
+        return pila.desapilar();
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MiLista<Integer> aLista() {
+        return pila.aLista();
+    }
+}
@@ -0,0 +1,75 @@
+package org.upemor.reproductor.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiListaIndexada;
+
+/**
+ * Benchmark de los métodos de ordenamiento de MiLista
+ * Cada invocación ordena una copia desordenada de los mismos datos.
+ *
+ * Bubble Sort e Insertion Sort son O(n²): solo se miden hasta 10,000
+ * elementos (ver OrdenamientoMergeBenchmark para tamaños mayores).
+ * @author Sistema Reproductor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrdenamientoBenchmark {
+    private static final MiLista.Comparador<Integer> ASCENDENTE = Integer::compare;
+    
+    @Param({"10", "100", "1000", "10000"})
+    private int tamanio;
+    
+    private int[] datos;
+    private MiLista<Integer> lista;
+    
+    @Setup(Level.Trial)
+    public void generarDatos() {
+        datos = datosDesordenados(tamanio);
+    }
+    
+    @Setup(Level.Invocation)
+    public void copiarDatos() {
+        lista = llenar(new MiListaIndexada<>(), datos);
+    }
+    
+    @Benchmark
+    public MiLista<Integer> bubbleSort() {
+        lista.ordenarBubbleSort(ASCENDENTE);
+        return lista;
+    }
+    
+    @Benchmark
+    public MiLista<Integer> insertionSort() {
+        lista.ordenarInsertionSort(ASCENDENTE);
+        return lista;
+    }
+    
+    @Benchmark
+    public MiLista<Integer> mergeSort() {
+        lista.ordenarMergeSort(ASCENDENTE);
+        return lista;
+    }
+    
+    static int[] datosDesordenados(int tamanio) {
+        Random aleatorio = new Random(42);
+        int[] datos = new int[tamanio];
+        for (int i = 0; i < tamanio; i++) {
+            datos[i] = aleatorio.nextInt();
+        }
+        return datos;
+    }
+    
+    static MiLista<Integer> llenar(MiLista<Integer> lista, int[] datos) {
+        for (int dato : datos) {
+            lista.agregar(dato);
+        }
+        return lista;
+    }
+}
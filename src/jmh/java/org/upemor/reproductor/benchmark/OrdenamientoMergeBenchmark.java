@@ -0,0 +1,48 @@
+package org.upemor.reproductor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiListaIndexada;
+
+/**
+ * Benchmark de Merge Sort secuencial y paralelo hasta 1,000,000 elementos
+ * @author Sistema Reproductor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrdenamientoMergeBenchmark {
+    private static final MiLista.Comparador<Integer> ASCENDENTE = Integer::compare;
+    
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    private int tamanio;
+    
+    private int[] datos;
+    private MiLista<Integer> lista;
+    
+    @Setup(Level.Trial)
+    public void generarDatos() {
+        datos = OrdenamientoBenchmark.datosDesordenados(tamanio);
+    }
+    
+    @Setup(Level.Invocation)
+    public void copiarDatos() {
+        lista = OrdenamientoBenchmark.llenar(new MiListaIndexada<>(), datos);
+    }
+    
+    @Benchmark
+    public MiLista<Integer> mergeSort() {
+        lista.ordenarMergeSort(ASCENDENTE);
+        return lista;
+    }
+    
+    @Benchmark
+    public MiLista<Integer> mergeSortParalelo() {
+        lista.ordenarMergeSortParalelo(ASCENDENTE);
+        return lista;
+    }
+}
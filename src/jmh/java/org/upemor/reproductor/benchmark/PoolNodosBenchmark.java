@@ -0,0 +1,69 @@
+package org.upemor.reproductor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.upemor.reproductor.estructuras.MiCola;
+import org.upemor.reproductor.estructuras.MiPila;
+import org.upemor.reproductor.estructuras.PoolNodos;
+
+/**
+ * Benchmark de rotación constante de cola y pila con y sin PoolNodos
+ * La métrica importante es gc.alloc.rate.norm (bytes por operación) del
+ * perfilador de GC: con pool debe quedar en ~0 una vez caliente.
+ * @author Sistema Reproductor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoolNodosBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int tamanio;
+    
+    private final Integer dato = 7; // Mismo objeto siempre: solo se miden los nodos
+    
+    private MiCola<Integer> cola;
+    private MiCola<Integer> colaConPool;
+    private MiPila<Integer> pila;
+    private MiPila<Integer> pilaConPool;
+    
+    @Setup(Level.Trial)
+    public void preparar() {
+        cola = new MiCola<>();
+        colaConPool = new MiCola<>(new PoolNodos<>());
+        pila = new MiPila<>();
+        pilaConPool = new MiPila<>(new PoolNodos<>());
+        for (int i = 0; i < tamanio; i++) {
+            cola.encolar(dato);
+            colaConPool.encolar(dato);
+            pila.apilar(dato);
+            pilaConPool.apilar(dato);
+        }
+    }
+    
+    @Benchmark
+    public Integer colaSinPool() {
+        cola.encolar(dato);
+        return cola.desencolar();
+    }
+    
+    @Benchmark
+    public Integer colaConPool() {
+        colaConPool.encolar(dato);
+        return colaConPool.desencolar();
+    }
+    
+    @Benchmark
+    public Integer pilaSinPool() {
+        pila.apilar(dato);
+        return pila.desapilar();
+    }
+    
+    @Benchmark
+    public Integer pilaConPool() {
+        pilaConPool.apilar(dato);
+        return pilaConPool.desapilar();
+    }
+}
@@ -3,6 +3,7 @@ package org.upemor.reproductor;
 import com.formdev.flatlaf.themes.FlatMacLightLaf;
 import javafx.application.Platform;
 import javax.swing.UIManager;
+import org.upemor.reproductor.logica.Reproductor;
 import org.upemor.reproductor.model.repository.MiConexion;
 import org.upemor.reproductor.view.PrincipalDlg;
 
@@ -37,7 +38,14 @@ public class Main {
             
             // Inicializar conexión a la base de datos
             System.out.println("Inicializando base de datos...");
-            MiConexion.getInstancia();
+            MiConexion conexion = MiConexion.getInstancia();
+            
+            // El reproductor guarda el historial en un archivo temporal que se cierra al salir
+            Reproductor reproductor = new Reproductor();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                reproductor.cerrar();
+                conexion.cerrar();
+            }));
             
             // Configurar Look and Feel
             System.out.println("Configurando interfaz gráfica...");
@@ -51,7 +59,7 @@ public class Main {
             // Crear ventana principal
             System.out.println("Iniciando aplicación...");
             System.out.println();
-            new PrincipalDlg();
+            new PrincipalDlg(reproductor);
             
         } catch (Exception e) {
             System.err.println("❌ Error al iniciar la aplicación: " + e.getMessage());
@@ -1,15 +1,43 @@
 package org.upemor.reproductor.controller;
 
+import org.upemor.reproductor.model.catalogo.CatalogoColumnar;
+import org.upemor.reproductor.model.catalogo.CatalogoCompacto;
 import org.upemor.reproductor.model.entity.Cancion;
 import org.upemor.reproductor.model.repository.CancionRepository;
+import org.upemor.reproductor.model.repository.CancionRepository.AccionCancion;
+import org.upemor.reproductor.model.repository.ResultadoLote;
+import org.upemor.reproductor.estructuras.CacheLRU;
 import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiListaIndexada;
 
 /**
  * Controlador para gestionar operaciones de canciones
  * @author Sistema Reproductor
  */
 public class CancionController {
+    /**
+     * Con -Dreproductor.catalogoColumnar=true las búsquedas se resuelven en
+     * un CatalogoColumnar fuera del heap en lugar de consultar la base
+     * de datos (pensado para bibliotecas muy grandes)
+     */
+    private static final boolean CATALOGO_COLUMNAR = Boolean.getBoolean("reproductor.catalogoColumnar");
+    /** Canciones que se crean como máximo para un resultado del catálogo columnar */
+    public static final int MAXIMO_RESULTADOS_COLUMNAR = 5000;
+    
     private CancionRepository repository;
+    // Compartido por todos los controladores (la biblioteca y el formulario
+    // usan instancias distintas); se carga al primer uso y después de cada
+    // escritura se recarga en segundo plano (protegido por CancionController.class)
+    private static CatalogoColumnar catalogoColumnar;
+    private static long versionCatalogo;  // Aumenta con cada escritura
+    private static boolean recargandoCatalogo;
+    
+    // Cachés LRU compartidas por la misma razón; se invalidan en cada escritura
+    private static final int CAPACIDAD_CACHE_POR_ID = 2000;      // canciones
+    private static final int CAPACIDAD_CACHE_BUSQUEDAS = 50000;  // canciones sumando todos los resultados
+    private static final CacheLRU<Long, Cancion> CACHE_POR_ID = new CacheLRU<>(CAPACIDAD_CACHE_POR_ID);
+    private static final CacheLRU<String, MiLista<Cancion>> CACHE_BUSQUEDAS =
+        new CacheLRU<>(CAPACIDAD_CACHE_BUSQUEDAS, (texto, canciones) -> canciones.tamanio() + 1);
     
     public CancionController() throws Exception {
         this.repository = new CancionRepository();
@@ -27,27 +55,134 @@ public class CancionController {
         }
     }
     
+    /**
+     * Obtiene toda la biblioteca en formato compacto (bibliotecas grandes)
+     */
+    public CatalogoCompacto obtenerCatalogoCompacto() throws Exception {
+        try {
+            return repository.cargarCatalogoCompacto();
+        } catch (Exception e) {
+            System.err.println("Error en controller al cargar catálogo compacto: " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Obtiene la biblioteca en columnas fuera del heap
+     * La primera vez se carga en este hilo. Después de crear, editar o
+     * eliminar se recarga en segundo plano y mientras tanto se sigue
+     * entregando el catálogo anterior (puede no incluir los últimos cambios)
+     */
+    public CatalogoColumnar obtenerCatalogoColumnar() throws Exception {
+        try {
+            synchronized (CancionController.class) {
+                if (catalogoColumnar == null) {
+                    catalogoColumnar = repository.cargarCatalogoColumnar();
+                }
+                return catalogoColumnar;
+            }
+        } catch (Exception e) {
+            System.err.println("Error en controller al cargar catálogo columnar: " + e.getMessage());
+            throw e;
+        }
+    }
+    
     /**
      * Busca canciones por texto
+     * Con el catálogo columnar la búsqueda es como la de respaldo con LIKE
+     * del repositorio: el texto completo se busca dentro del título, el
+     * artista o el álbum, sin prefijos por palabra ni orden por relevancia;
+     * los resultados salen por id y se entregan a lo más
+     * MAXIMO_RESULTADOS_COLUMNAR (ver buscarColumnar para las siguientes)
      */
     public MiLista<Cancion> buscar(String texto) throws Exception {
         try {
-            if (texto == null || texto.trim().isEmpty()) {
-                return obtenerTodas();
+            if (CATALOGO_COLUMNAR && texto != null && !texto.trim().isEmpty()) {
+                return buscarColumnar(texto, 0, MAXIMO_RESULTADOS_COLUMNAR);
             }
-            return repository.buscar(texto);
+            
+            String clave = texto == null ? "" : texto.trim();
+            MiLista<Cancion> resultado = CACHE_BUSQUEDAS.obtener(clave,
+                t -> t.isEmpty() ? repository.obtenerTodas() : repository.buscar(t));
+            
+            // Copia de la lista y de cada canción: quien la recibe puede
+            // modificarlas (por ejemplo al editar) sin tocar la caché
+            MiLista<Cancion> copia = new MiListaIndexada<>();
+            copia.agregarTodos(() -> resultado.stream().map(Cancion::new).iterator());
+            return copia;
         } catch (Exception e) {
             System.err.println("Error en controller al buscar: " + e.getMessage());
             throw e;
         }
     }
     
+    /**
+     * Busca en el catálogo columnar y crea objetos Cancion solo para
+     * los resultados [desde, desde + cantidad), ordenados por id
+     */
+    public MiLista<Cancion> buscarColumnar(String texto, int desde, int cantidad) throws Exception {
+        if (texto == null || texto.trim().isEmpty()) {
+            throw new Exception("El texto de búsqueda no puede estar vacío");
+        }
+        
+        try {
+            CatalogoColumnar catalogo = obtenerCatalogoColumnar();
+            int[] filas = catalogo.buscar(texto.trim());
+            if (filas.length > desde + cantidad) {
+                System.out.println("Búsqueda '" + texto.trim() + "': se entregan " + cantidad
+                    + " de " + filas.length + " resultados");
+            }
+            return catalogo.materializar(filas, desde, cantidad);
+        } catch (Exception e) {
+            System.err.println("Error en controller al buscar en catálogo columnar: " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Recorre las canciones que coinciden con el texto (todas si está vacío)
+     * entregándolas una por una, sin cargar el resultado completo en memoria
+     * @return cantidad de canciones entregadas
+     */
+    public int recorrerBusqueda(String texto, AccionCancion accion) throws Exception {
+        try {
+            if (texto == null || texto.trim().isEmpty()) {
+                return repository.recorrerTodas(accion);
+            }
+            return repository.recorrerBusqueda(texto, accion);
+        } catch (Exception e) {
+            System.err.println("Error en controller al recorrer canciones: " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Obtiene la siguiente página de canciones ordenadas por id
+     * @param despuesDeId id de la última canción recibida (0 para empezar)
+     */
+    public MiLista<Cancion> obtenerPagina(long despuesDeId, int tamanioPagina) throws Exception {
+        if (tamanioPagina <= 0) {
+            throw new Exception("El tamaño de página debe ser mayor que cero");
+        }
+        
+        try {
+            return repository.obtenerPagina(despuesDeId, tamanioPagina);
+        } catch (Exception e) {
+            System.err.println("Error en controller al obtener página: " + e.getMessage());
+            throw e;
+        }
+    }
+    
     /**
      * Obtiene una canción por ID
      */
     public Cancion obtenerPorId(Long id) throws Exception {
         try {
-            return repository.obtenerPorId(id);
+            if (id == null) {
+                return null;
+            }
+            Cancion cancion = CACHE_POR_ID.obtener(id, repository::obtenerPorId);
+            return cancion != null ? new Cancion(cancion) : null; // La de la caché no sale del controlador
         } catch (Exception e) {
             System.err.println("Error en controller al obtener por ID: " + e.getMessage());
             throw e;
@@ -67,6 +202,39 @@ public class CancionController {
         } catch (Exception e) {
             System.err.println("Error en controller al crear: " + e.getMessage());
             throw e;
+        } finally {
+            invalidarCaches(null);
+        }
+    }
+    
+    /**
+     * Crea muchas canciones en transacciones de
+     * CancionRepository.TAMANIO_TRANSACCION_POR_DEFECTO canciones
+     */
+    public ResultadoLote crearLote(Iterable<Cancion> canciones) throws Exception {
+        return crearLote(canciones, CancionRepository.TAMANIO_TRANSACCION_POR_DEFECTO);
+    }
+    
+    /**
+     * Crea muchas canciones; las inválidas se reportan en el resultado
+     * sin detener a las demás
+     * @param tamanioTransaccion canciones por transacción (confirmación a disco)
+     */
+    public ResultadoLote crearLote(Iterable<Cancion> canciones, int tamanioTransaccion) throws Exception {
+        if (canciones == null) {
+            throw new Exception("La lista de canciones no puede ser nula");
+        }
+        if (tamanioTransaccion <= 0) {
+            throw new Exception("El tamaño de transacción debe ser mayor que cero");
+        }
+        
+        try {
+            return repository.crearLote(canciones, tamanioTransaccion, this::validar);
+        } catch (Exception e) {
+            System.err.println("Error en controller al crear lote: " + e.getMessage());
+            throw e;
+        } finally {
+            invalidarCaches(null);
         }
     }
     
@@ -83,6 +251,8 @@ public class CancionController {
         } catch (Exception e) {
             System.err.println("Error en controller al actualizar: " + e.getMessage());
             throw e;
+        } finally {
+            invalidarCaches(cancion.getId());
         }
     }
     
@@ -95,6 +265,82 @@ public class CancionController {
         } catch (Exception e) {
             System.err.println("Error en controller al eliminar: " + e.getMessage());
             throw e;
+        } finally {
+            invalidarCaches(id);
+        }
+    }
+    
+    /**
+     * Descarta lo que una escritura pudo dejar viejo: la canción modificada
+     * (si hay id), todas las búsquedas (la canción pudo entrar o salir de
+     * cualquier resultado) y el catálogo columnar
+     * Se llama después de escribir: una carga que empezó antes de la
+     * escritura ya no se guarda en caché (ver CacheLRU.obtener)
+     */
+    private static void invalidarCaches(Long id) {
+        if (id != null) {
+            CACHE_POR_ID.eliminar(id);
+        }
+        CACHE_BUSQUEDAS.limpiar();
+        invalidarCatalogo();
+    }
+    
+    /**
+     * Aciertos, fallos y desalojos de las cachés de canciones
+     */
+    public static String estadisticasCache() {
+        return "Por id: " + CACHE_POR_ID + "\nBúsquedas: " + CACHE_BUSQUEDAS;
+    }
+    
+    /**
+     * Pide recargar el catálogo columnar después de una escritura
+     * La recarga corre en un hilo aparte para que la escritura (por ejemplo
+     * cada lote de una importación) no espere a releer toda la biblioteca.
+     * Si llegan más escrituras durante una recarga, al terminar se hace una
+     * más, no una por escritura
+     */
+    private static synchronized void invalidarCatalogo() {
+        if (catalogoColumnar == null) {
+            return; // Nunca se cargó: se cargará al primer uso
+        }
+        versionCatalogo++;
+        if (!recargandoCatalogo) {
+            recargandoCatalogo = true;
+            Thread hilo = new Thread(CancionController::recargarCatalogo, "recarga-catalogo");
+            hilo.setDaemon(true);
+            hilo.start();
+        }
+    }
+    
+    /**
+     * Recarga el catálogo hasta que ya no haya escrituras pendientes
+     * Si falla, el catálogo se descarta y la siguiente búsqueda lo carga
+     */
+    private static void recargarCatalogo() {
+        CancionRepository repositorio = new CancionRepository();
+        while (true) {
+            long version;
+            synchronized (CancionController.class) {
+                version = versionCatalogo;
+            }
+            
+            try {
+                CatalogoColumnar nuevo = repositorio.cargarCatalogoColumnar();
+                synchronized (CancionController.class) {
+                    catalogoColumnar = nuevo;
+                    if (versionCatalogo == version) {
+                        recargandoCatalogo = false;
+                        return;
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("Error al recargar catálogo columnar: " + e.getMessage());
+                synchronized (CancionController.class) {
+                    catalogoColumnar = null;
+                    recargandoCatalogo = false;
+                }
+                return;
+            }
         }
     }
     
@@ -0,0 +1,309 @@
+package org.upemor.reproductor.estructuras;
+
+/**
+ * Caché LRU (menos usado recientemente) con capacidad por peso
+ * Un MiMapa encuentra la entrada de cada clave en O(1) y una lista
+ * doblemente enlazada circular (con nodo centinela) guarda el orden de uso:
+ * al frente la más reciente, al final la primera en salir.
+ *
+ * Cada entrada pesa lo que diga el Pesador (1 por defecto) y la suma de
+ * pesos nunca pasa de la capacidad; así una búsqueda con 5,000 resultados
+ * ocupa más que una con 5. Lleva la cuenta de aciertos, fallos y desalojos.
+ *
+ * Es segura entre hilos (métodos sincronizados). Con obtener(clave, cargador)
+ * funciona como caché de lectura: si falta la entrada la carga sin tener
+ * el candado y la guarda solo si nadie invalidó esa clave (con poner,
+ * eliminar o limpiar) mientras tanto; invalidar otras claves no la afecta.
+ *
+ * Complejidad: obtener, poner y eliminar O(1) esperado
+ * NO usa colecciones de Java
+ * @param <K> Tipo de la clave (debe implementar equals y hashCode)
+ * @param <V> Tipo del valor
+ * @author Sistema de Estructuras de Datos
+ */
+public class CacheLRU<K, V> {
+    private final int capacidad;
+    private final Pesador<K, V> pesador;
+    private final MiMapa<K, Entrada<K, V>> entradas = new MiMapa<>();
+    private final Entrada<K, V> centinela = new Entrada<>(null, null, 0);
+    // Cargas en curso por clave; una invalidación de la clave las marca como viejas
+    private final MiMapa<K, Carga> cargando = new MiMapa<>();
+    
+    private int peso;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    
+    /**
+     * Caché de a lo más 'capacidad' entradas
+     */
+    public CacheLRU(int capacidad) {
+        this(capacidad, (clave, valor) -> 1);
+    }
+    
+    /**
+     * Caché cuya suma de pesos no pasa de 'capacidad'
+     */
+    public CacheLRU(int capacidad, Pesador<K, V> pesador) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que cero");
+        }
+        if (pesador == null) {
+            throw new IllegalArgumentException("El pesador no puede ser nulo");
+        }
+        this.capacidad = capacidad;
+        this.pesador = pesador;
+        centinela.anterior = centinela;
+        centinela.siguiente = centinela;
+    }
+    
+    /**
+     * Retorna el valor de la clave y la marca como la más reciente
+     * @return el valor, o null si no está en caché
+     */
+    public synchronized V obtener(K clave) {
+        Entrada<K, V> entrada = entradas.obtener(clave);
+        if (entrada == null) {
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        desenlazar(entrada);
+        enlazarAlFrente(entrada);
+        return entrada.valor;
+    }
+    
+    /**
+     * Retorna el valor de la clave, cargándolo con el cargador si no está
+     * La carga se hace fuera del candado (otros hilos siguen usando la caché);
+     * si mientras tanto se invalidó esa clave, el valor cargado se devuelve
+     * pero no se guarda, para no dejar en caché datos viejos
+     */
+    public V obtener(K clave, Cargador<K, V> cargador) throws Exception {
+        if (clave == null) {
+            throw new IllegalArgumentException("La clave no puede ser nula");
+        }
+        
+        Carga carga;
+        synchronized (this) {
+            V valor = obtener(clave);
+            if (valor != null) {
+                return valor;
+            }
+            carga = iniciarCarga(clave);
+        }
+        
+        V valor = null;
+        try {
+            valor = cargador.cargar(clave);
+            return valor;
+        } finally {
+            synchronized (this) {
+                terminarCarga(clave, carga);
+                if (valor != null && !carga.vieja) {
+                    guardar(clave, valor);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Guarda un valor como el más reciente (reemplaza el anterior)
+     * Un valor que pesa más que la capacidad completa no se guarda
+     */
+    public synchronized void poner(K clave, V valor) {
+        invalidarCarga(clave);
+        guardar(clave, valor);
+    }
+    
+    /**
+     * Quita una clave de la caché
+     * @return el valor que tenía, o null si no estaba
+     */
+    public synchronized V eliminar(K clave) {
+        invalidarCarga(clave);
+        Entrada<K, V> entrada = entradas.eliminar(clave);
+        if (entrada == null) {
+            return null;
+        }
+        desenlazar(entrada);
+        peso -= entrada.peso;
+        return entrada.valor;
+    }
+    
+    /**
+     * Vacía la caché (los contadores se conservan)
+     */
+    public synchronized void limpiar() {
+        cargando.recorrer((clave, carga) -> carga.vieja = true);
+        cargando.limpiar();
+        entradas.limpiar();
+        centinela.anterior = centinela;
+        centinela.siguiente = centinela;
+        peso = 0;
+    }
+    
+    public synchronized int tamanio() {
+        return entradas.tamanio();
+    }
+    
+    /**
+     * Suma de los pesos de las entradas guardadas
+     */
+    public synchronized int getPeso() {
+        return peso;
+    }
+    
+    public int getCapacidad() {
+        return capacidad;
+    }
+    
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+    
+    public synchronized long getFallos() {
+        return fallos;
+    }
+    
+    /**
+     * Entradas que salieron para hacer espacio (no cuenta las invalidadas)
+     */
+    public synchronized long getDesalojos() {
+        return desalojos;
+    }
+    
+    @Override
+    public synchronized String toString() {
+        long consultas = aciertos + fallos;
+        return "CacheLRU{entradas=" + entradas.tamanio() + ", peso=" + peso + "/" + capacidad
+            + ", aciertos=" + aciertos + ", fallos=" + fallos + ", desalojos=" + desalojos
+            + ", efectividad=" + (consultas == 0 ? 0 : aciertos * 100 / consultas) + "%}";
+    }
+    
+    // ==================== Operaciones internas ====================
+    
+    /**
+     * Registra una carga de la clave; las cargas simultáneas de la misma
+     * clave comparten el registro mientras nadie lo invalide
+     */
+    private Carga iniciarCarga(K clave) {
+        Carga carga = cargando.obtener(clave);
+        if (carga == null) {
+            carga = new Carga();
+            cargando.poner(clave, carga);
+        }
+        carga.pendientes++;
+        return carga;
+    }
+    
+    private void terminarCarga(K clave, Carga carga) {
+        carga.pendientes--;
+        if (carga.pendientes == 0 && cargando.obtener(clave) == carga) {
+            cargando.eliminar(clave);
+        }
+    }
+    
+    /**
+     * Las cargas en curso de la clave ya no se guardarán; las que empiecen
+     * después usan un registro nuevo
+     */
+    private void invalidarCarga(K clave) {
+        Carga carga = cargando.eliminar(clave);
+        if (carga != null) {
+            carga.vieja = true;
+        }
+    }
+    
+    private void guardar(K clave, V valor) {
+        if (clave == null) {
+            throw new IllegalArgumentException("La clave no puede ser nula");
+        }
+        
+        Entrada<K, V> anterior = entradas.eliminar(clave);
+        if (anterior != null) {
+            desenlazar(anterior);
+            peso -= anterior.peso;
+        }
+        if (valor == null) {
+            return;
+        }
+        
+        int pesoNuevo = pesador.peso(clave, valor);
+        if (pesoNuevo < 0) {
+            throw new IllegalArgumentException("El peso no puede ser negativo: " + pesoNuevo);
+        }
+        if (pesoNuevo > capacidad) {
+            return; // Desalojaría todo lo demás y tampoco cabría
+        }
+        
+        // Sacar las menos recientes hasta que quepa
+        while (peso + pesoNuevo > capacidad) {
+            Entrada<K, V> ultima = centinela.anterior;
+            desenlazar(ultima);
+            entradas.eliminar(ultima.clave);
+            peso -= ultima.peso;
+            desalojos++;
+        }
+        
+        Entrada<K, V> entrada = new Entrada<>(clave, valor, pesoNuevo);
+        entradas.poner(clave, entrada);
+        enlazarAlFrente(entrada);
+        peso += pesoNuevo;
+    }
+    
+    private void enlazarAlFrente(Entrada<K, V> entrada) {
+        entrada.anterior = centinela;
+        entrada.siguiente = centinela.siguiente;
+        centinela.siguiente.anterior = entrada;
+        centinela.siguiente = entrada;
+    }
+    
+    private void desenlazar(Entrada<K, V> entrada) {
+        entrada.anterior.siguiente = entrada.siguiente;
+        entrada.siguiente.anterior = entrada.anterior;
+        entrada.anterior = null;
+        entrada.siguiente = null;
+    }
+    
+    /**
+     * Nodo de la lista de uso
+     */
+    private static final class Entrada<K, V> {
+        private final K clave;
+        private final V valor;
+        private final int peso;
+        private Entrada<K, V> anterior;
+        private Entrada<K, V> siguiente;
+        
+        Entrada(K clave, V valor, int peso) {
+            this.clave = clave;
+            this.valor = valor;
+            this.peso = peso;
+        }
+    }
+    
+    /**
+     * Cargas en curso de una clave (se usa con el candado de la caché)
+     */
+    private static final class Carga {
+        private int pendientes;
+        private boolean vieja;
+    }
+    
+    /**
+     * Interfaz funcional que calcula el peso de una entrada
+     */
+    @FunctionalInterface
+    public interface Pesador<K, V> {
+        int peso(K clave, V valor);
+    }
+    
+    /**
+     * Interfaz funcional que carga el valor de una clave que no está en caché
+     */
+    @FunctionalInterface
+    public interface Cargador<K, V> {
+        V cargar(K clave) throws Exception;
+    }
+}
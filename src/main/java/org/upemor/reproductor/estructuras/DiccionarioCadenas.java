@@ -0,0 +1,123 @@
+package org.upemor.reproductor.estructuras;
+
+import java.util.Arrays;
+
+/**
+ * Diccionario de cadenas (interning): asigna a cada texto distinto un
+ * código entero consecutivo 0, 1, 2...
+ * Así una columna con miles de repeticiones ("Queen", "Queen", ...) se
+ * guarda como un int[] de códigos y una sola copia de cada texto.
+ *
+ * La tabla hash guarda solo códigos (int[]): las cadenas viven una vez
+ * en el arreglo 'cadenas'. Sondeo lineal, sin borrado.
+ * Complejidad esperada: codificar O(1), decodificar O(1)
+ * @author Sistema de Estructuras de Datos
+ */
+public class DiccionarioCadenas {
+    /** Código que representa null */
+    public static final int NULO = -1;
+    
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final float FACTOR_CARGA = 0.6f;
+    
+    private String[] cadenas;  // Código -> texto
+    private int[] tabla;       // Casillas con códigos; NULO = libre
+    private int tamanio;
+    private int umbral;
+    
+    public DiccionarioCadenas() {
+        this.cadenas = new String[CAPACIDAD_INICIAL];
+        this.tamanio = 0;
+        crearTabla(CAPACIDAD_INICIAL * 2);
+    }
+    
+    /**
+     * Código del texto; si es nuevo, se agrega al diccionario
+     * @return El código, o NULO si el texto es null
+     */
+    public int codificar(String texto) {
+        if (texto == null) {
+            return NULO;
+        }
+        
+        int mascara = tabla.length - 1;
+        int i = dispersar(texto) & mascara;
+        while (tabla[i] != NULO) {
+            if (cadenas[tabla[i]].equals(texto)) {
+                return tabla[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        
+        if (tamanio == cadenas.length) {
+            String[] nuevas = new String[cadenas.length * 2];
+            System.arraycopy(cadenas, 0, nuevas, 0, tamanio);
+            cadenas = nuevas;
+        }
+        int codigo = tamanio++;
+        cadenas[codigo] = texto;
+        tabla[i] = codigo;
+        
+        if (tamanio > umbral) {
+            redimensionar(tabla.length * 2);
+        }
+        return codigo;
+    }
+    
+    /**
+     * Código de un texto que ya existe, sin agregarlo
+     * @return El código, o NULO si no está en el diccionario
+     */
+    public int buscar(String texto) {
+        if (texto == null) {
+            return NULO;
+        }
+        
+        int mascara = tabla.length - 1;
+        int i = dispersar(texto) & mascara;
+        while (tabla[i] != NULO) {
+            if (cadenas[tabla[i]].equals(texto)) {
+                return tabla[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return NULO;
+    }
+    
+    /**
+     * Texto de un código (la misma instancia para todas las filas)
+     */
+    public String decodificar(int codigo) {
+        return codigo == NULO ? null : cadenas[codigo];
+    }
+    
+    /**
+     * Cantidad de textos distintos
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    private void redimensionar(int capacidad) {
+        crearTabla(capacidad);
+        int mascara = capacidad - 1;
+        for (int codigo = 0; codigo < tamanio; codigo++) {
+            int i = dispersar(cadenas[codigo]) & mascara;
+            while (tabla[i] != NULO) {
+                i = (i + 1) & mascara;
+            }
+            tabla[i] = codigo;
+        }
+    }
+    
+    private void crearTabla(int capacidad) {
+        tabla = new int[capacidad];
+        Arrays.fill(tabla, NULO);
+        umbral = (int) (capacidad * FACTOR_CARGA);
+    }
+    
+    private static int dispersar(String texto) {
+        int h = texto.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
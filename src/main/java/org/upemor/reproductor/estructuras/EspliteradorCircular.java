@@ -0,0 +1,68 @@
+package org.upemor.reproductor.estructuras;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator sobre un arreglo circular (buffer de anillo)
+ * La capacidad del arreglo debe ser potencia de 2 para poder
+ * calcular las posiciones con una máscara en lugar de módulo.
+ * Dividir es O(1): cada mitad es solo un rango de índices
+ * @param <T> Tipo de dato que almacena el arreglo
+ * @author Sistema de Estructuras de Datos
+ */
+class EspliteradorCircular<T> implements Spliterator<T> {
+    private final Object[] arreglo;
+    private final int mascara;
+    private int posicion;   // Índice lógico (sin aplicar máscara) del siguiente elemento
+    private final int limite;
+    
+    EspliteradorCircular(Object[] arreglo, int inicio, int cantidad) {
+        this.arreglo = arreglo;
+        this.mascara = arreglo.length - 1;
+        this.posicion = inicio;
+        this.limite = inicio + cantidad;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> accion) {
+        if (posicion >= limite) {
+            return false;
+        }
+        accion.accept((T) arreglo[posicion & mascara]);
+        posicion++;
+        return true;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super T> accion) {
+        int i = posicion;
+        posicion = limite;
+        for (; i < limite; i++) {
+            accion.accept((T) arreglo[i & mascara]);
+        }
+    }
+    
+    @Override
+    public Spliterator<T> trySplit() {
+        int mitad = (limite - posicion) / 2;
+        if (mitad == 0) {
+            return null;
+        }
+        EspliteradorCircular<T> primeraMitad = new EspliteradorCircular<>(arreglo, posicion, mitad);
+        posicion += mitad;
+        return primeraMitad;
+    }
+    
+    @Override
+    public long estimateSize() {
+        return limite - posicion;
+    }
+    
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
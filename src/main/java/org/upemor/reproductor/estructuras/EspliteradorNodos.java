@@ -0,0 +1,82 @@
+package org.upemor.reproductor.estructuras;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator sobre una cadena de nodos enlazados por 'siguiente'
+ * Permite usar stream() y parallelStream() con MiLista, MiCola y MiPila.
+ *
+ * Es SIZED y SUBSIZED porque cada parte conoce exactamente cuántos
+ * nodos le tocan, y ORDERED porque respeta el orden de la estructura.
+ * Dividir cuesta O(n/2) pasos (hay que caminar hasta la mitad), por eso
+ * no se divide por debajo de TAMANIO_MINIMO_DIVISION elementos.
+ * @param <T> Tipo de dato que almacenan los nodos
+ * @author Sistema de Estructuras de Datos
+ */
+class EspliteradorNodos<T> implements Spliterator<T> {
+    private static final int TAMANIO_MINIMO_DIVISION = 1024;
+    
+    private Nodo<T> actual;
+    private int restantes;
+    
+    EspliteradorNodos(Nodo<T> inicio, int cantidad) {
+        this.actual = inicio;
+        this.restantes = cantidad;
+    }
+    
+    @Override
+    public boolean tryAdvance(Consumer<? super T> accion) {
+        if (restantes <= 0) {
+            return false;
+        }
+        T dato = actual.getDato();
+        actual = actual.getSiguiente();
+        restantes--;
+        accion.accept(dato);
+        return true;
+    }
+    
+    @Override
+    public void forEachRemaining(Consumer<? super T> accion) {
+        Nodo<T> nodo = actual;
+        int cantidad = restantes;
+        
+        // Consumir de una vez para no pagar el costo de tryAdvance por elemento
+        actual = null;
+        restantes = 0;
+        for (int i = 0; i < cantidad; i++) {
+            accion.accept(nodo.getDato());
+            nodo = nodo.getSiguiente();
+        }
+    }
+    
+    /**
+     * Entrega la primera mitad de los nodos restantes y se queda con la segunda
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (restantes < TAMANIO_MINIMO_DIVISION) {
+            return null;
+        }
+        
+        int mitad = restantes / 2;
+        EspliteradorNodos<T> primeraMitad = new EspliteradorNodos<>(actual, mitad);
+        
+        for (int i = 0; i < mitad; i++) {
+            actual = actual.getSiguiente();
+        }
+        restantes -= mitad;
+        return primeraMitad;
+    }
+    
+    @Override
+    public long estimateSize() {
+        return restantes;
+    }
+    
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
@@ -0,0 +1,100 @@
+package org.upemor.reproductor.estructuras;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Vista inmutable (instantánea) de una estructura basada en arreglo circular
+ * No copia nada: comparte el arreglo con la estructura viva, que se encarga
+ * de copiarlo (copy-on-write) antes de sobrescribir una posición que esta
+ * instantánea todavía ve. Obtenerla es O(1) y obtener(i) también.
+ * Quien termina de usarla antes de descartarla puede llamar a soltar()
+ * para que la estructura deje de protegerla sin esperar al recolector.
+ * @param <T> Tipo de dato de los elementos
+ * @author Sistema de Estructuras de Datos
+ */
+public final class Instantanea<T> implements Iterable<T> {
+    private final Object[] arreglo;
+    private final int inicio;
+    private final int cantidad;
+    private final boolean invertida; // true: el índice 0 es el último del rango
+    private volatile boolean soltada;
+    
+    Instantanea(Object[] arreglo, int inicio, int cantidad, boolean invertida) {
+        this.arreglo = arreglo;
+        this.inicio = inicio;
+        this.cantidad = cantidad;
+        this.invertida = invertida;
+    }
+    
+    /**
+     * Obtiene un elemento por su índice
+     */
+    @SuppressWarnings("unchecked")
+    public T obtener(int indice) {
+        if (indice < 0 || indice >= cantidad) {
+            return null;
+        }
+        int desplazamiento = invertida ? cantidad - 1 - indice : indice;
+        return (T) arreglo[(inicio + desplazamiento) % arreglo.length];
+    }
+    
+    /**
+     * Obtiene el tamaño de la instantánea
+     */
+    public int tamanio() {
+        return cantidad;
+    }
+    
+    /**
+     * Verifica si la instantánea está vacía
+     */
+    public boolean estaVacia() {
+        return cantidad == 0;
+    }
+    
+    /**
+     * Recorre la instantánea y ejecuta una acción para cada elemento
+     */
+    public void recorrer(MiLista.AccionLista<T> accion) {
+        for (int i = 0; i < cantidad; i++) {
+            accion.ejecutar(obtener(i), i);
+        }
+    }
+    
+    /**
+     * Avisa que la instantánea ya no se usará: la estructura puede volver a
+     * escribir en las posiciones que veía. Después de soltarla su contenido
+     * puede cambiar.
+     */
+    public void soltar() {
+        soltada = true;
+    }
+    
+    boolean estaSoltada() {
+        return soltada;
+    }
+    
+    /**
+     * Iterador para usar la instantánea en un for-each
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int siguiente = 0;
+            
+            @Override
+            public boolean hasNext() {
+                return siguiente < cantidad;
+            }
+            
+            @Override
+            public T next() {
+                if (siguiente >= cantidad) {
+                    throw new NoSuchElementException();
+                }
+                return obtener(siguiente++);
+            }
+        };
+    }
+}
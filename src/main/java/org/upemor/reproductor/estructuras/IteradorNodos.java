@@ -0,0 +1,37 @@
+package org.upemor.reproductor.estructuras;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterador sobre una cadena de nodos enlazados por 'siguiente'
+ * Sirve para MiLista (circular), MiCola y MiPila: siempre se limita
+ * por la cantidad de elementos, no por encontrar null
+ * @param <T> Tipo de dato que almacenan los nodos
+ * @author Sistema de Estructuras de Datos
+ */
+class IteradorNodos<T> implements Iterator<T> {
+    private Nodo<T> actual;
+    private int restantes;
+    
+    IteradorNodos(Nodo<T> inicio, int cantidad) {
+        this.actual = inicio;
+        this.restantes = cantidad;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        return restantes > 0;
+    }
+    
+    @Override
+    public T next() {
+        if (restantes <= 0) {
+            throw new NoSuchElementException();
+        }
+        T dato = actual.getDato();
+        actual = actual.getSiguiente();
+        restantes--;
+        return dato;
+    }
+}
@@ -0,0 +1,398 @@
+package org.upemor.reproductor.estructuras;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementación manual de Árbol Rojo-Negro (inclinado a la izquierda)
+ * Árbol binario de búsqueda autobalanceado: su altura es a lo más
+ * 2·log₂(n), así que insertar, eliminar y buscar cuestan O(log n).
+ * El orden lo define un MiLista.Comparador; elementos que el comparador
+ * considera iguales se tratan como el mismo elemento.
+ *
+ * Recorrer en orden es O(n) y un rango [desde, hasta] cuesta O(log n + k),
+ * donde k es la cantidad de elementos en el rango.
+ * NO usa TreeMap ni TreeSet de Java
+ * @param <T> Tipo de dato que almacena el árbol
+ * @author Sistema de Estructuras de Datos
+ */
+public class MiArbol<T> implements Iterable<T> {
+    private static final boolean ROJO = true;
+    private static final boolean NEGRO = false;
+    
+    private final MiLista.Comparador<T> comparador;
+    private NodoArbol<T> raiz;
+    private int tamanio;
+    
+    public MiArbol(MiLista.Comparador<T> comparador) {
+        this.comparador = comparador;
+        this.raiz = null;
+        this.tamanio = 0;
+    }
+    
+    /**
+     * Inserta un elemento; si ya existe uno igual, lo reemplaza
+     * @return true si el elemento es nuevo
+     */
+    public boolean insertar(T dato) {
+        int antes = tamanio;
+        raiz = insertar(raiz, dato);
+        raiz.color = NEGRO;
+        return tamanio > antes;
+    }
+    
+    /**
+     * Elimina el elemento igual a 'dato'
+     * @return true si existía
+     */
+    public boolean eliminar(T dato) {
+        if (!contiene(dato)) {
+            return false;
+        }
+        
+        if (!esRojo(raiz.izquierdo) && !esRojo(raiz.derecho)) {
+            raiz.color = ROJO;
+        }
+        raiz = eliminar(raiz, dato);
+        if (raiz != null) {
+            raiz.color = NEGRO;
+        }
+        tamanio--;
+        return true;
+    }
+    
+    /**
+     * Busca el elemento igual a 'dato'
+     * @return El elemento guardado o null si no existe
+     */
+    public T buscar(T dato) {
+        NodoArbol<T> actual = raiz;
+        while (actual != null) {
+            int cmp = comparador.comparar(dato, actual.dato);
+            if (cmp == 0) {
+                return actual.dato;
+            }
+            actual = cmp < 0 ? actual.izquierdo : actual.derecho;
+        }
+        return null;
+    }
+    
+    /**
+     * Verifica si existe un elemento igual a 'dato'
+     */
+    public boolean contiene(T dato) {
+        return buscar(dato) != null;
+    }
+    
+    /**
+     * El mayor elemento menor o igual a 'dato' (floor)
+     */
+    public T piso(T dato) {
+        NodoArbol<T> actual = raiz;
+        T candidato = null;
+        while (actual != null) {
+            int cmp = comparador.comparar(dato, actual.dato);
+            if (cmp == 0) {
+                return actual.dato;
+            }
+            if (cmp < 0) {
+                actual = actual.izquierdo;
+            } else {
+                candidato = actual.dato;
+                actual = actual.derecho;
+            }
+        }
+        return candidato;
+    }
+    
+    /**
+     * El menor elemento mayor o igual a 'dato' (ceiling)
+     */
+    public T techo(T dato) {
+        NodoArbol<T> actual = raiz;
+        T candidato = null;
+        while (actual != null) {
+            int cmp = comparador.comparar(dato, actual.dato);
+            if (cmp == 0) {
+                return actual.dato;
+            }
+            if (cmp > 0) {
+                actual = actual.derecho;
+            } else {
+                candidato = actual.dato;
+                actual = actual.izquierdo;
+            }
+        }
+        return candidato;
+    }
+    
+    /**
+     * Obtiene el menor elemento
+     */
+    public T minimo() {
+        return raiz == null ? null : minimo(raiz).dato;
+    }
+    
+    /**
+     * Obtiene el mayor elemento
+     */
+    public T maximo() {
+        if (raiz == null) {
+            return null;
+        }
+        NodoArbol<T> actual = raiz;
+        while (actual.derecho != null) {
+            actual = actual.derecho;
+        }
+        return actual.dato;
+    }
+    
+    /**
+     * Elementos en el rango [desde, hasta], en orden
+     * Complejidad: O(log n + k)
+     */
+    public MiLista<T> rango(T desde, T hasta) {
+        MiLista<T> resultado = new MiListaIndexada<>();
+        recorrerRango(raiz, desde, hasta, resultado);
+        return resultado;
+    }
+    
+    /**
+     * Todos los elementos en orden
+     * Complejidad: O(n)
+     */
+    public MiLista<T> aLista() {
+        MiLista<T> resultado = new MiListaIndexada<>();
+        for (T dato : this) {
+            resultado.agregar(dato);
+        }
+        return resultado;
+    }
+    
+    /**
+     * Obtiene el número de elementos
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Verifica si el árbol está vacío
+     */
+    public boolean estaVacio() {
+        return raiz == null;
+    }
+    
+    /**
+     * Elimina todos los elementos
+     */
+    public void limpiar() {
+        raiz = null;
+        tamanio = 0;
+    }
+    
+    /**
+     * Iterador en orden (de menor a mayor) con una pila explícita
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new IteradorEnOrden();
+    }
+    
+    // ==================== Inserción y borrado recursivos ====================
+    
+    private NodoArbol<T> insertar(NodoArbol<T> h, T dato) {
+        if (h == null) {
+            tamanio++;
+            return new NodoArbol<>(dato);
+        }
+        
+        int cmp = comparador.comparar(dato, h.dato);
+        if (cmp < 0) {
+            h.izquierdo = insertar(h.izquierdo, dato);
+        } else if (cmp > 0) {
+            h.derecho = insertar(h.derecho, dato);
+        } else {
+            h.dato = dato;
+        }
+        return balancear(h);
+    }
+    
+    /**
+     * Borrado de Sedgewick: baja "empujando" un enlace rojo para que el
+     * nodo a quitar nunca sea un 2-nodo. Supone que 'dato' existe.
+     */
+    private NodoArbol<T> eliminar(NodoArbol<T> h, T dato) {
+        if (comparador.comparar(dato, h.dato) < 0) {
+            if (!esRojo(h.izquierdo) && !esRojo(h.izquierdo.izquierdo)) {
+                h = moverRojoIzquierda(h);
+            }
+            h.izquierdo = eliminar(h.izquierdo, dato);
+        } else {
+            if (esRojo(h.izquierdo)) {
+                h = rotarDerecha(h);
+            }
+            if (comparador.comparar(dato, h.dato) == 0 && h.derecho == null) {
+                return null;
+            }
+            if (!esRojo(h.derecho) && !esRojo(h.derecho.izquierdo)) {
+                h = moverRojoDerecha(h);
+            }
+            if (comparador.comparar(dato, h.dato) == 0) {
+                // Reemplazar por el sucesor y borrar el sucesor
+                h.dato = minimo(h.derecho).dato;
+                h.derecho = eliminarMinimo(h.derecho);
+            } else {
+                h.derecho = eliminar(h.derecho, dato);
+            }
+        }
+        return balancear(h);
+    }
+    
+    private NodoArbol<T> eliminarMinimo(NodoArbol<T> h) {
+        if (h.izquierdo == null) {
+            return null;
+        }
+        if (!esRojo(h.izquierdo) && !esRojo(h.izquierdo.izquierdo)) {
+            h = moverRojoIzquierda(h);
+        }
+        h.izquierdo = eliminarMinimo(h.izquierdo);
+        return balancear(h);
+    }
+    
+    private void recorrerRango(NodoArbol<T> h, T desde, T hasta, MiLista<T> resultado) {
+        if (h == null) {
+            return;
+        }
+        int cmpDesde = comparador.comparar(desde, h.dato);
+        int cmpHasta = comparador.comparar(hasta, h.dato);
+        
+        // Solo bajar por las ramas que pueden tener elementos del rango
+        if (cmpDesde < 0) {
+            recorrerRango(h.izquierdo, desde, hasta, resultado);
+        }
+        if (cmpDesde <= 0 && cmpHasta >= 0) {
+            resultado.agregar(h.dato);
+        }
+        if (cmpHasta > 0) {
+            recorrerRango(h.derecho, desde, hasta, resultado);
+        }
+    }
+    
+    // ==================== Rotaciones y balanceo ====================
+    
+    private boolean esRojo(NodoArbol<T> nodo) {
+        return nodo != null && nodo.color == ROJO;
+    }
+    
+    private NodoArbol<T> rotarIzquierda(NodoArbol<T> h) {
+        NodoArbol<T> x = h.derecho;
+        h.derecho = x.izquierdo;
+        x.izquierdo = h;
+        x.color = h.color;
+        h.color = ROJO;
+        return x;
+    }
+    
+    private NodoArbol<T> rotarDerecha(NodoArbol<T> h) {
+        NodoArbol<T> x = h.izquierdo;
+        h.izquierdo = x.derecho;
+        x.derecho = h;
+        x.color = h.color;
+        h.color = ROJO;
+        return x;
+    }
+    
+    private void invertirColores(NodoArbol<T> h) {
+        h.color = !h.color;
+        h.izquierdo.color = !h.izquierdo.color;
+        h.derecho.color = !h.derecho.color;
+    }
+    
+    private NodoArbol<T> moverRojoIzquierda(NodoArbol<T> h) {
+        invertirColores(h);
+        if (esRojo(h.derecho.izquierdo)) {
+            h.derecho = rotarDerecha(h.derecho);
+            h = rotarIzquierda(h);
+            invertirColores(h);
+        }
+        return h;
+    }
+    
+    private NodoArbol<T> moverRojoDerecha(NodoArbol<T> h) {
+        invertirColores(h);
+        if (esRojo(h.izquierdo.izquierdo)) {
+            h = rotarDerecha(h);
+            invertirColores(h);
+        }
+        return h;
+    }
+    
+    private NodoArbol<T> balancear(NodoArbol<T> h) {
+        if (esRojo(h.derecho) && !esRojo(h.izquierdo)) {
+            h = rotarIzquierda(h);
+        }
+        if (esRojo(h.izquierdo) && esRojo(h.izquierdo.izquierdo)) {
+            h = rotarDerecha(h);
+        }
+        if (esRojo(h.izquierdo) && esRojo(h.derecho)) {
+            invertirColores(h);
+        }
+        return h;
+    }
+    
+    private NodoArbol<T> minimo(NodoArbol<T> h) {
+        while (h.izquierdo != null) {
+            h = h.izquierdo;
+        }
+        return h;
+    }
+    
+    /**
+     * Nodo del árbol con enlace a sus dos hijos y color
+     */
+    private static final class NodoArbol<T> {
+        private T dato;
+        private NodoArbol<T> izquierdo;
+        private NodoArbol<T> derecho;
+        private boolean color;
+        
+        NodoArbol(T dato) {
+            this.dato = dato;
+            this.color = ROJO;
+        }
+    }
+    
+    /**
+     * Recorrido en orden con pila explícita (la altura es O(log n))
+     */
+    private final class IteradorEnOrden implements Iterator<T> {
+        private final MiPila<NodoArbol<T>> pendientes = new MiPila<>();
+        
+        IteradorEnOrden() {
+            apilarIzquierdos(raiz);
+        }
+        
+        private void apilarIzquierdos(NodoArbol<T> nodo) {
+            while (nodo != null) {
+                pendientes.apilar(nodo);
+                nodo = nodo.izquierdo;
+            }
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return !pendientes.estaVacia();
+        }
+        
+        @Override
+        public T next() {
+            if (pendientes.estaVacia()) {
+                throw new NoSuchElementException();
+            }
+            NodoArbol<T> nodo = pendientes.desapilar();
+            apilarIzquierdos(nodo.derecho);
+            return nodo.dato;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.upemor.reproductor.estructuras;
+
+/**
+ * Implementación manual de Bicola (Deque) - Cola de doble extremo
+ * Extiende MiColaCircular: además de encolar al final y desencolar del
+ * frente, permite insertar al frente y sacar del final.
+ * Todas las operaciones en los extremos son O(1) (encolar O(1) amortizado)
+ * NO usa Deque de Java
+ * @param <T> Tipo de dato que almacena la bicola
+ * @author Sistema de Estructuras de Datos
+ */
+public class MiBicola<T> extends MiColaCircular<T> {
+    
+    public MiBicola() {
+        super();
+    }
+    
+    public MiBicola(int capacidad) {
+        super(capacidad);
+    }
+    
+    /**
+     * Inserta un elemento al frente (push-front)
+     * El siguiente desencolar() lo devolverá primero
+     */
+    public void encolarFrente(T dato) {
+        if (tamanio == elementos.length) {
+            crecer();
+        }
+        int posicion = (frente - 1) & mascara();
+        prepararEscritura(posicion);
+        elementos[posicion] = dato;
+        frente = posicion;
+        tamanio++;
+    }
+    
+    /**
+     * Saca el elemento del final (pop-back)
+     */
+    @SuppressWarnings("unchecked")
+    public T desencolarFin() {
+        if (estaVacia()) {
+            return null;
+        }
+        
+        int posicion = (frente + tamanio - 1) & mascara();
+        T dato = (T) elementos[posicion];
+        liberar(posicion);
+        tamanio--;
+        return dato;
+    }
+    
+    /**
+     * Ve el elemento del final sin sacarlo
+     */
+    @SuppressWarnings("unchecked")
+    public T verFin() {
+        if (estaVacia()) {
+            return null;
+        }
+        return (T) elementos[(frente + tamanio - 1) & mascara()];
+    }
+}
@@ -1,27 +1,42 @@
 package org.upemor.reproductor.estructuras;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Implementación manual de Cola (Queue) - FIFO (First In First Out)
  * NO usa Queue de Java
  * @param <T> Tipo de dato que almacena la cola
  * @author Sistema de Estructuras de Datos
  */
-public class MiCola<T> {
+public class MiCola<T> implements Iterable<T> {
     private Nodo<T> frente;
     private Nodo<T> fin;
     private int tamanio;
+    private final PoolNodos<T> pool; // Opcional: null crea nodos nuevos siempre
     
     public MiCola() {
+        this(null);
+    }
+    
+    /**
+     * Crea una cola que recicla sus nodos: con el pool caliente,
+     * encolar y desencolar ya no crean objetos
+     */
+    public MiCola(PoolNodos<T> pool) {
         this.frente = null;
         this.fin = null;
         this.tamanio = 0;
+        this.pool = pool;
     }
     
     /**
      * Encola un elemento (enqueue)
      */
     public void encolar(T dato) {
-        Nodo<T> nuevoNodo = new Nodo<>(dato);
+        Nodo<T> nuevoNodo = pool != null ? pool.obtener(dato) : new Nodo<>(dato);
         
         if (estaVacia()) {
             frente = nuevoNodo;
@@ -41,13 +56,17 @@ public class MiCola<T> {
             return null;
         }
         
-        T dato = frente.getDato();
-        frente = frente.getSiguiente();
+        Nodo<T> anterior = frente;
+        T dato = anterior.getDato();
+        frente = anterior.getSiguiente();
         
         if (frente == null) {
             fin = null;
         }
         
+        if (pool != null) {
+            pool.liberar(anterior);
+        }
         tamanio--;
         return dato;
     }
@@ -80,24 +99,58 @@ public class MiCola<T> {
      * Limpia toda la cola
      */
     public void limpiar() {
+        if (pool != null) {
+            // Devolver nodos solo mientras el pool los acepte
+            Nodo<T> actual = frente;
+            while (actual != null && !pool.estaLleno()) {
+                Nodo<T> siguiente = actual.getSiguiente();
+                pool.liberar(actual);
+                actual = siguiente;
+            }
+        }
         frente = null;
         fin = null;
         tamanio = 0;
     }
     
+    /**
+     * Iterador para usar la estructura en un for-each
+     * Recorre del frente al final
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new IteradorNodos<>(frente, tamanio);
+    }
+    
+    /**
+     * Spliterator divisible (SIZED, ORDERED) para streams secuenciales y paralelos
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new EspliteradorNodos<>(frente, tamanio);
+    }
+    
+    /**
+     * Stream secuencial sobre los elementos
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    /**
+     * Stream paralelo sobre los elementos (usa el ForkJoinPool común)
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
     /**
      * Convierte la cola a una lista para poder visualizarla
      * (sin modificar la cola original)
      */
     public MiLista<T> aLista() {
-        MiLista<T> lista = new MiLista<>();
-        Nodo<T> actual = frente;
-        
-        while (actual != null) {
-            lista.agregar(actual.getDato());
-            actual = actual.getSiguiente();
-        }
-        
+        MiLista<T> lista = new MiListaIndexada<>();
+        lista.agregarTodos(this); // Una sola pasada, un solo enganche
         return lista;
     }
 }
@@ -0,0 +1,343 @@
+package org.upemor.reproductor.estructuras;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementación manual de Cola (Queue) - FIFO sobre un arreglo circular
+ * Misma interfaz que MiCola, pero sin crear un Nodo por elemento:
+ * los datos viven en un arreglo que se recorre "en anillo" y que
+ * duplica su capacidad cuando se llena.
+ *
+ * Complejidad: encolar O(1) amortizado, desencolar O(1)
+ *
+ * instantanea() entrega una vista inmutable en O(1) que comparte el
+ * arreglo (copy-on-write): el arreglo solo se copia si después hay que
+ * escribir en una posición que esa vista todavía muestra.
+ * NO usa ArrayDeque de Java
+ * @param <T> Tipo de dato que almacena la cola
+ * @author Sistema de Estructuras de Datos
+ */
+public class MiColaCircular<T> implements Iterable<T> {
+    private static final int CAPACIDAD_INICIAL = 16;
+    /** Posiciones hacia adelante que revisa mezclarSinRepetir para cada conflicto */
+    private static final int BUSQUEDA_MAXIMA = 64;
+    
+    protected Object[] elementos; // Capacidad siempre potencia de 2
+    protected int frente;         // Posición del primer elemento
+    protected int tamanio;
+    protected final RegionCompartida compartida = new RegionCompartida();
+    
+    public MiColaCircular() {
+        this(CAPACIDAD_INICIAL);
+    }
+    
+    /**
+     * Crea la cola reservando espacio para 'capacidad' elementos
+     */
+    public MiColaCircular(int capacidad) {
+        this.elementos = new Object[potenciaDeDos(capacidad)];
+        this.frente = 0;
+        this.tamanio = 0;
+    }
+    
+    /**
+     * Encola un elemento al final (enqueue)
+     */
+    public void encolar(T dato) {
+        if (tamanio == elementos.length) {
+            crecer();
+        }
+        int posicion = (frente + tamanio) & mascara();
+        prepararEscritura(posicion);
+        elementos[posicion] = dato;
+        tamanio++;
+    }
+    
+    /**
+     * Desencola el elemento del frente (dequeue)
+     */
+    @SuppressWarnings("unchecked")
+    public T desencolar() {
+        if (estaVacia()) {
+            return null;
+        }
+        
+        T dato = (T) elementos[frente];
+        liberar(frente); // No retener la referencia
+        frente = (frente + 1) & mascara();
+        tamanio--;
+        return dato;
+    }
+    
+    /**
+     * Ve el elemento al frente sin sacarlo (peek)
+     */
+    @SuppressWarnings("unchecked")
+    public T verFrente() {
+        if (estaVacia()) {
+            return null;
+        }
+        return (T) elementos[frente];
+    }
+    
+    /**
+     * Verifica si la cola está vacía
+     */
+    public boolean estaVacia() {
+        return tamanio == 0;
+    }
+    
+    /**
+     * Obtiene el tamaño de la cola
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Limpia toda la cola (conserva la capacidad reservada)
+     */
+    public void limpiar() {
+        if (compartida.estaActiva()) {
+            // Las instantáneas conservan el arreglo anterior
+            elementos = new Object[elementos.length];
+            compartida.soltar();
+        } else {
+            for (int i = 0; i < tamanio; i++) {
+                elementos[(frente + i) & mascara()] = null;
+            }
+        }
+        frente = 0;
+        tamanio = 0;
+    }
+    
+    /**
+     * Convierte la cola a una lista para poder visualizarla
+     * (sin modificar la cola original)
+     */
+    public MiLista<T> aLista() {
+        MiLista<T> lista = new MiListaIndexada<>();
+        lista.agregarTodos(this); // Enlaza la cadena completa y la agrega de una vez
+        return lista;
+    }
+    
+    /**
+     * Mezcla los elementos en su lugar con Fisher–Yates
+     * Todas las permutaciones son igual de probables.
+     * Complejidad: O(n), sin memoria adicional
+     */
+    public void mezclar(Random aleatorio) {
+        if (tamanio < 2) {
+            return;
+        }
+        prepararEscrituraTotal();
+        
+        for (int i = tamanio - 1; i > 0; i--) {
+            intercambiar(i, aleatorio.nextInt(i + 1));
+        }
+    }
+    
+    /**
+     * Mezcla evitando que dos elementos con la misma clave (por ejemplo, el
+     * mismo artista) queden a 'ventana' posiciones o menos uno del otro.
+     *
+     * Primero aplica Fisher–Yates y después, de izquierda a derecha, cambia
+     * cada elemento en conflicto por el primero sin conflicto que encuentre
+     * en las siguientes BUSQUEDA_MAXIMA posiciones. Si no hay ninguno (por
+     * ejemplo, casi todo es del mismo artista) el conflicto se queda.
+     * Complejidad: O(n · BUSQUEDA_MAXIMA) = O(n)
+     */
+    public void mezclarSinRepetir(Random aleatorio, int ventana, Clasificador<T> clasificador) {
+        if (ventana < 0) {
+            throw new IllegalArgumentException("Ventana inválida: " + ventana);
+        }
+        mezclar(aleatorio);
+        if (tamanio < 2 || ventana == 0) {
+            return;
+        }
+        
+        // Claves calculadas una sola vez, en el mismo orden que la cola
+        Object[] claves = new Object[tamanio];
+        for (int i = 0; i < tamanio; i++) {
+            claves[i] = clasificador.clave(obtenerEn(i));
+        }
+        
+        MiMapa<Object, Integer> ultimaPosicion = new MiMapa<>();
+        for (int i = 0; i < tamanio; i++) {
+            if (enConflicto(claves[i], i, ventana, ultimaPosicion)) {
+                int limite = Math.min(tamanio, i + 1 + BUSQUEDA_MAXIMA);
+                for (int j = i + 1; j < limite; j++) {
+                    if (!enConflicto(claves[j], i, ventana, ultimaPosicion)) {
+                        intercambiar(i, j);
+                        Object clave = claves[i];
+                        claves[i] = claves[j];
+                        claves[j] = clave;
+                        break;
+                    }
+                }
+            }
+            if (claves[i] != null) {
+                ultimaPosicion.poner(claves[i], i);
+            }
+        }
+    }
+    
+    /**
+     * true si la clave ya apareció en las 'ventana' posiciones anteriores a 'i'
+     */
+    private static boolean enConflicto(Object clave, int i, int ventana,
+                                       MiMapa<Object, Integer> ultimaPosicion) {
+        if (clave == null) {
+            return false;
+        }
+        Integer ultima = ultimaPosicion.obtener(clave);
+        return ultima != null && i - ultima <= ventana;
+    }
+    
+    /**
+     * Vista inmutable del contenido actual, del frente al final
+     * Complejidad: O(1), no copia elementos
+     */
+    public Instantanea<T> instantanea() {
+        Instantanea<T> vista = new Instantanea<>(elementos, frente, tamanio, false);
+        compartida.proteger(vista, frente, tamanio, elementos.length);
+        return vista;
+    }
+    
+    /**
+     * Iterador para usar la estructura en un for-each
+     * Recorre del frente al final
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+    
+    /**
+     * Spliterator divisible (SIZED, ORDERED) para streams secuenciales y paralelos
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new EspliteradorCircular<>(elementos, frente, tamanio);
+    }
+    
+    /**
+     * Stream secuencial sobre los elementos
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    /**
+     * Stream paralelo sobre los elementos (usa el ForkJoinPool común)
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
+    /**
+     * Elemento en la posición lógica 'i' (0 = frente)
+     */
+    @SuppressWarnings("unchecked")
+    private T obtenerEn(int i) {
+        return (T) elementos[(frente + i) & mascara()];
+    }
+    
+    /**
+     * Intercambia dos posiciones lógicas (0 = frente)
+     */
+    private void intercambiar(int i, int j) {
+        int a = (frente + i) & mascara();
+        int b = (frente + j) & mascara();
+        Object temporal = elementos[a];
+        elementos[a] = elementos[b];
+        elementos[b] = temporal;
+    }
+    
+    /**
+     * Máscara para convertir una posición lógica en índice del arreglo
+     */
+    protected int mascara() {
+        return elementos.length - 1;
+    }
+    
+    /**
+     * Se llama antes de escribir en una posición: si una instantánea
+     * todavía la ve, se trabaja sobre una copia del arreglo
+     */
+    protected void prepararEscritura(int posicion) {
+        if (compartida.contiene(posicion, elementos.length)) {
+            copiarArreglo();
+        }
+    }
+    
+    /**
+     * Se llama antes de reescribir todo el contenido (por ejemplo al
+     * mezclar): si hay instantáneas, se trabaja sobre una copia
+     */
+    protected void prepararEscrituraTotal() {
+        if (compartida.estaActiva()) {
+            copiarArreglo();
+        }
+    }
+    
+    /**
+     * Deja de compartir el arreglo: la copia solo conserva los elementos
+     * vigentes, así lo ya desencolado que retenía una instantánea se libera
+     */
+    private void copiarArreglo() {
+        Object[] copia = new Object[elementos.length];
+        for (int i = 0; i < tamanio; i++) {
+            int posicion = (frente + i) & mascara();
+            copia[posicion] = elementos[posicion];
+        }
+        elementos = copia;
+        compartida.soltar();
+    }
+    
+    /**
+     * Quita la referencia de una posición que ya no está en uso
+     * (si una instantánea la ve, se deja para no alterarla)
+     */
+    protected void liberar(int posicion) {
+        if (!compartida.contiene(posicion, elementos.length)) {
+            elementos[posicion] = null;
+        }
+    }
+    
+    /**
+     * Duplica la capacidad dejando los elementos desde la posición 0
+     */
+    protected void crecer() {
+        Object[] nuevos = new Object[elementos.length * 2];
+        
+        // Copiar los dos tramos del anillo: [frente, fin del arreglo) y [0, resto)
+        int primerTramo = Math.min(tamanio, elementos.length - frente);
+        System.arraycopy(elementos, frente, nuevos, 0, primerTramo);
+        System.arraycopy(elementos, 0, nuevos, primerTramo, tamanio - primerTramo);
+        
+        elementos = nuevos;
+        frente = 0;
+        compartida.soltar(); // El arreglo nuevo no lo ve ninguna instantánea
+    }
+    
+    /**
+     * Obtiene la clave que no debe repetirse en mezclarSinRepetir
+     * (null = el elemento nunca entra en conflicto)
+     */
+    public interface Clasificador<T> {
+        Object clave(T dato);
+    }
+    
+    private static int potenciaDeDos(int capacidad) {
+        if (capacidad <= 1) {
+            return 1;
+        }
+        return Integer.highestOneBit(capacidad - 1) << 1;
+    }
+}
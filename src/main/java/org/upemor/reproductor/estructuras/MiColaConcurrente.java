@@ -0,0 +1,154 @@
+package org.upemor.reproductor.estructuras;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementación manual de Cola (Queue) FIFO sin bloqueos (lock-free)
+ * Algoritmo de Michael y Scott: la cola empieza con un nodo centinela y
+ * frente/fin se actualizan con compareAndSet, así varios hilos pueden
+ * encolar y desencolar al mismo tiempo sin usar synchronized y sin
+ * corromper los enlaces. Un hilo nunca espera a que otro suelte un candado.
+ *
+ * Complejidad: encolar O(1), desencolar O(1) (más reintentos si hay contención)
+ * NO usa ConcurrentLinkedQueue de Java
+ * @param <T> Tipo de dato que almacena la cola
+ * @author Sistema de Estructuras de Datos
+ */
+public class MiColaConcurrente<T> {
+    private final AtomicReference<NodoConcurrente<T>> frente;
+    private final AtomicReference<NodoConcurrente<T>> fin;
+    private final AtomicInteger tamanio;
+    
+    public MiColaConcurrente() {
+        NodoConcurrente<T> centinela = new NodoConcurrente<>(null);
+        this.frente = new AtomicReference<>(centinela);
+        this.fin = new AtomicReference<>(centinela);
+        this.tamanio = new AtomicInteger(0);
+    }
+    
+    /**
+     * Encola un elemento al final (enqueue), seguro desde cualquier hilo
+     */
+    public void encolar(T dato) {
+        if (dato == null) {
+            throw new IllegalArgumentException("La cola no admite elementos nulos");
+        }
+        NodoConcurrente<T> nuevo = new NodoConcurrente<>(dato);
+        
+        while (true) {
+            NodoConcurrente<T> ultimo = fin.get();
+            NodoConcurrente<T> siguiente = ultimo.siguiente.get();
+            
+            if (ultimo != fin.get()) {
+                continue; // Otro hilo movió el fin: volver a leer
+            }
+            if (siguiente == null) {
+                // Intentar enlazar el nuevo nodo después del último
+                if (ultimo.siguiente.compareAndSet(null, nuevo)) {
+                    // Avanzar el fin; si falla, otro hilo ya lo avanzó
+                    fin.compareAndSet(ultimo, nuevo);
+                    tamanio.incrementAndGet();
+                    return;
+                }
+            } else {
+                // El fin quedó atrasado: ayudar a avanzarlo
+                fin.compareAndSet(ultimo, siguiente);
+            }
+        }
+    }
+    
+    /**
+     * Desencola el elemento del frente (dequeue), seguro desde cualquier hilo
+     * @return El elemento o null si la cola está vacía
+     */
+    public T desencolar() {
+        while (true) {
+            NodoConcurrente<T> primero = frente.get();
+            NodoConcurrente<T> ultimo = fin.get();
+            NodoConcurrente<T> siguiente = primero.siguiente.get();
+            
+            if (primero != frente.get()) {
+                continue;
+            }
+            if (siguiente == null) {
+                return null; // Solo queda el centinela
+            }
+            if (primero == ultimo) {
+                // Hay un elemento pero el fin está atrasado: ayudar
+                fin.compareAndSet(ultimo, siguiente);
+                continue;
+            }
+            
+            T dato = siguiente.dato;
+            if (frente.compareAndSet(primero, siguiente)) {
+                // 'siguiente' pasa a ser el nuevo centinela: soltar su dato
+                siguiente.dato = null;
+                tamanio.decrementAndGet();
+                return dato;
+            }
+        }
+    }
+    
+    /**
+     * Ve el elemento al frente sin sacarlo (peek)
+     */
+    public T verFrente() {
+        NodoConcurrente<T> siguiente = frente.get().siguiente.get();
+        return siguiente != null ? siguiente.dato : null;
+    }
+    
+    /**
+     * Verifica si la cola está vacía
+     */
+    public boolean estaVacia() {
+        return frente.get().siguiente.get() == null;
+    }
+    
+    /**
+     * Obtiene el tamaño de la cola
+     * Con otros hilos modificándola, es solo una aproximación
+     */
+    public int tamanio() {
+        return Math.max(0, tamanio.get());
+    }
+    
+    /**
+     * Vacía la cola desencolando todo lo que haya en este momento
+     */
+    public void limpiar() {
+        while (desencolar() != null) {
+            // Descartar
+        }
+    }
+    
+    /**
+     * Convierte la cola a una lista (vista aproximada si hay otros hilos)
+     */
+    public MiLista<T> aLista() {
+        MiLista<T> lista = new MiListaIndexada<>();
+        NodoConcurrente<T> actual = frente.get().siguiente.get();
+        
+        while (actual != null) {
+            T dato = actual.dato;
+            if (dato != null) {
+                lista.agregar(dato);
+            }
+            actual = actual.siguiente.get();
+        }
+        return lista;
+    }
+    
+    /**
+     * Nodo con enlace atómico para la cola concurrente
+     */
+    private static final class NodoConcurrente<T> {
+        private volatile T dato;
+        private final AtomicReference<NodoConcurrente<T>> siguiente;
+        
+        NodoConcurrente(T dato) {
+            this.dato = dato;
+            this.siguiente = new AtomicReference<>(null);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.upemor.reproductor.estructuras;
+
+/**
+ * Implementación manual de Cola de Prioridad con Montículo Binario (heap)
+ * Sale primero el elemento de mayor prioridad; entre prioridades iguales
+ * sale primero el que llegó antes (FIFO), gracias a un número de secuencia.
+ *
+ * El montículo vive en arreglos paralelos (datos, prioridades, secuencias),
+ * así encolar y desencolar cuestan O(log n) sin crear nodos.
+ * El orden de salida que devuelve instantanea() se guarda hasta que la
+ * cola cambie, para no recalcularlo en cada consulta.
+ * NO usa PriorityQueue de Java
+ * @param <T> Tipo de dato que almacena la cola
+ * @author Sistema de Estructuras de Datos
+ */
+public class MiColaPrioridad<T> {
+    private static final int CAPACIDAD_INICIAL = 16;
+    
+    private Object[] datos;
+    private int[] prioridades;
+    private long[] secuencias;
+    private int tamanio;
+    private long siguienteSecuencia;   // Crece: desempate FIFO
+    private long secuenciaPrimero;     // Decrece: para adelantarse a los empates
+    private Instantanea<T> ordenada;   // Orden de salida ya calculado (null si la cola cambió)
+    
+    public MiColaPrioridad() {
+        this(CAPACIDAD_INICIAL);
+    }
+    
+    public MiColaPrioridad(int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("Capacidad inválida: " + capacidad);
+        }
+        this.datos = new Object[capacidad];
+        this.prioridades = new int[capacidad];
+        this.secuencias = new long[capacidad];
+        this.tamanio = 0;
+        this.siguienteSecuencia = 0;
+        this.secuenciaPrimero = -1;
+    }
+    
+    /**
+     * Encola un elemento detrás de los que tienen su misma prioridad
+     * Complejidad: O(log n)
+     */
+    public void encolar(T dato, int prioridad) {
+        insertar(dato, prioridad, siguienteSecuencia++);
+    }
+    
+    /**
+     * Encola un elemento delante de los que tienen su misma prioridad
+     * (por ejemplo, para regresar una canción que ya estaba en turno)
+     * Complejidad: O(log n)
+     */
+    public void encolarPrimero(T dato, int prioridad) {
+        insertar(dato, prioridad, secuenciaPrimero--);
+    }
+    
+    /**
+     * Saca el elemento de mayor prioridad
+     * Complejidad: O(log n)
+     */
+    @SuppressWarnings("unchecked")
+    public T desencolar() {
+        if (tamanio == 0) {
+            return null;
+        }
+        
+        T dato = (T) datos[0];
+        ordenada = null;
+        tamanio--;
+        if (tamanio > 0) {
+            mover(tamanio, 0);
+            hundir(0);
+        }
+        datos[tamanio] = null; // No retener la referencia
+        return dato;
+    }
+    
+    /**
+     * Ve el elemento de mayor prioridad sin sacarlo
+     */
+    @SuppressWarnings("unchecked")
+    public T verFrente() {
+        return tamanio == 0 ? null : (T) datos[0];
+    }
+    
+    /**
+     * Prioridad del elemento del frente
+     * @throws IllegalStateException si la cola está vacía
+     */
+    public int prioridadFrente() {
+        if (tamanio == 0) {
+            throw new IllegalStateException("La cola de prioridad está vacía");
+        }
+        return prioridades[0];
+    }
+    
+    /**
+     * Verifica si la cola está vacía
+     */
+    public boolean estaVacia() {
+        return tamanio == 0;
+    }
+    
+    /**
+     * Obtiene el tamaño de la cola
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Limpia toda la cola
+     */
+    public void limpiar() {
+        for (int i = 0; i < tamanio; i++) {
+            datos[i] = null;
+        }
+        tamanio = 0;
+        ordenada = null;
+    }
+    
+    /**
+     * Copia los elementos a una lista en el orden en que saldrían
+     * (sin modificar la cola original)
+     * Complejidad: O(n log n)
+     */
+    public MiLista<T> aLista() {
+        MiLista<T> lista = new MiListaIndexada<>();
+        lista.agregarTodos(instantanea());
+        return lista;
+    }
+    
+    /**
+     * Vista inmutable de los elementos en el orden en que saldrían
+     * La primera consulta tras un cambio cuesta O(n log n); las siguientes,
+     * mientras no se encole ni desencole nada, devuelven la misma vista en O(1).
+     * La vista tiene su propio arreglo: los cambios posteriores no la afectan.
+     */
+    public Instantanea<T> instantanea() {
+        if (ordenada == null) {
+            MiColaPrioridad<T> copia = new MiColaPrioridad<>(Math.max(1, tamanio));
+            System.arraycopy(datos, 0, copia.datos, 0, tamanio);
+            System.arraycopy(prioridades, 0, copia.prioridades, 0, tamanio);
+            System.arraycopy(secuencias, 0, copia.secuencias, 0, tamanio);
+            copia.tamanio = tamanio;
+            
+            Object[] orden = new Object[tamanio];
+            for (int i = 0; i < orden.length; i++) {
+                orden[i] = copia.desencolar();
+            }
+            ordenada = new Instantanea<>(orden, 0, orden.length, false);
+        }
+        return ordenada;
+    }
+    
+    // ==================== Montículo ====================
+    
+    private void insertar(T dato, int prioridad, long secuencia) {
+        ordenada = null;
+        if (tamanio == datos.length) {
+            crecer();
+        }
+        datos[tamanio] = dato;
+        prioridades[tamanio] = prioridad;
+        secuencias[tamanio] = secuencia;
+        tamanio++;
+        flotar(tamanio - 1);
+    }
+    
+    /**
+     * true si el elemento en 'a' debe salir antes que el de 'b'
+     */
+    private boolean antes(int a, int b) {
+        if (prioridades[a] != prioridades[b]) {
+            return prioridades[a] > prioridades[b];
+        }
+        return secuencias[a] < secuencias[b];
+    }
+    
+    /**
+     * Sube un elemento mientras salga antes que su padre
+     */
+    private void flotar(int posicion) {
+        while (posicion > 0) {
+            int padre = (posicion - 1) / 2;
+            if (!antes(posicion, padre)) {
+                break;
+            }
+            intercambiar(posicion, padre);
+            posicion = padre;
+        }
+    }
+    
+    /**
+     * Baja un elemento mientras alguno de sus hijos salga antes
+     */
+    private void hundir(int posicion) {
+        while (true) {
+            int izquierdo = 2 * posicion + 1;
+            if (izquierdo >= tamanio) {
+                break;
+            }
+            int elegido = izquierdo;
+            int derecho = izquierdo + 1;
+            if (derecho < tamanio && antes(derecho, izquierdo)) {
+                elegido = derecho;
+            }
+            if (!antes(elegido, posicion)) {
+                break;
+            }
+            intercambiar(posicion, elegido);
+            posicion = elegido;
+        }
+    }
+    
+    private void intercambiar(int a, int b) {
+        Object dato = datos[a];
+        datos[a] = datos[b];
+        datos[b] = dato;
+        
+        int prioridad = prioridades[a];
+        prioridades[a] = prioridades[b];
+        prioridades[b] = prioridad;
+        
+        long secuencia = secuencias[a];
+        secuencias[a] = secuencias[b];
+        secuencias[b] = secuencia;
+    }
+    
+    private void mover(int desde, int hacia) {
+        datos[hacia] = datos[desde];
+        prioridades[hacia] = prioridades[desde];
+        secuencias[hacia] = secuencias[desde];
+    }
+    
+    private void crecer() {
+        int capacidad = datos.length * 2;
+        
+        Object[] nuevosDatos = new Object[capacidad];
+        int[] nuevasPrioridades = new int[capacidad];
+        long[] nuevasSecuencias = new long[capacidad];
+        
+        System.arraycopy(datos, 0, nuevosDatos, 0, tamanio);
+        System.arraycopy(prioridades, 0, nuevasPrioridades, 0, tamanio);
+        System.arraycopy(secuencias, 0, nuevasSecuencias, 0, tamanio);
+        
+        datos = nuevosDatos;
+        prioridades = nuevasPrioridades;
+        secuencias = nuevasSecuencias;
+    }
+}
@@ -1,27 +1,46 @@
 package org.upemor.reproductor.estructuras;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Implementación manual de Lista Circular Doblemente Enlazada
  * NO usa LinkedList de Java
  * @param <T> Tipo de dato que almacena la lista
  * @author Sistema de Estructuras de Datos
  */
-public class MiLista<T> {
+public class MiLista<T> implements Iterable<T> {
+    /** Por debajo de este tamaño el ordenamiento paralelo no compensa */
+    private static final int UMBRAL_PARALELO = 8192;
+    
     private Nodo<T> cabeza;
     private Nodo<T> cola;
     private int tamanio;
+    private final PoolNodos<T> pool; // Opcional: null crea nodos nuevos siempre
     
     public MiLista() {
+        this(null);
+    }
+    
+    /**
+     * Crea una lista que toma y devuelve sus nodos del pool indicado
+     */
+    public MiLista(PoolNodos<T> pool) {
         this.cabeza = null;
         this.cola = null;
         this.tamanio = 0;
+        this.pool = pool;
     }
     
     /**
      * Agrega un elemento al final de la lista circular doblemente enlazada
      */
     public void agregar(T dato) {
-        Nodo<T> nuevoNodo = new Nodo<>(dato);
+        Nodo<T> nuevoNodo = crearNodo(dato);
         
         if (cabeza == null) {
             // Primera inserción
@@ -49,50 +68,223 @@ public class MiLista<T> {
             return false;
         }
         
+        desenlazar(nodoEn(indice));
+        return true;
+    }
+    
+    /**
+     * Obtiene un elemento por su índice
+     */
+    public T obtener(int indice) {
+        if (indice < 0 || indice >= tamanio || cabeza == null) {
+            return null;
+        }
+        
+        return nodoEn(indice).getDato();
+    }
+    
+    /**
+     * Localiza el nodo de una posición válida
+     * Aprovecha que la lista es doblemente enlazada: recorre desde la cabeza
+     * o desde la cola, lo que quede más cerca (a lo más n/2 pasos)
+     */
+    protected Nodo<T> nodoEn(int indice) {
+        Nodo<T> actual;
+        if (indice < tamanio / 2) {
+            actual = cabeza;
+            for (int i = 0; i < indice; i++) {
+                actual = actual.getSiguiente();
+            }
+        } else {
+            actual = cola;
+            for (int i = tamanio - 1; i > indice; i--) {
+                actual = actual.getAnterior();
+            }
+        }
+        return actual;
+    }
+    
+    /**
+     * Quita un nodo de la lista manteniendo la circularidad
+     */
+    protected void desenlazar(Nodo<T> nodo) {
         if (tamanio == 1) {
             // Único elemento
             cabeza = null;
             cola = null;
-        } else if (indice == 0) {
-            // Eliminar la cabeza
-            Nodo<T> nuevaCabeza = cabeza.getSiguiente();
-            nuevaCabeza.setAnterior(cola);
-            cola.setSiguiente(nuevaCabeza);
-            cabeza = nuevaCabeza;
         } else {
-            // Buscar el nodo a eliminar
-            Nodo<T> actual = cabeza;
-            for (int i = 0; i < indice; i++) {
-                actual = actual.getSiguiente();
-            }
-            
-            Nodo<T> anterior = actual.getAnterior();
-            Nodo<T> siguiente = actual.getSiguiente();
+            Nodo<T> anterior = nodo.getAnterior();
+            Nodo<T> siguiente = nodo.getSiguiente();
             
             anterior.setSiguiente(siguiente);
             siguiente.setAnterior(anterior);
             
-            if (actual == cola) {
+            if (nodo == cabeza) {
+                cabeza = siguiente;
+            }
+            if (nodo == cola) {
                 cola = anterior;
             }
         }
         tamanio--;
-        return true;
+        reciclar(nodo);
     }
     
     /**
-     * Obtiene un elemento por su índice
+     * Crea un nodo nuevo o reutiliza uno del pool
      */
-    public T obtener(int indice) {
-        if (indice < 0 || indice >= tamanio || cabeza == null) {
-            return null;
+    protected Nodo<T> crearNodo(T dato) {
+        return pool != null ? pool.obtener(dato) : new Nodo<>(dato);
+    }
+    
+    /**
+     * Devuelve al pool un nodo que ya salió de la lista
+     */
+    protected void reciclar(Nodo<T> nodo) {
+        if (pool != null) {
+            pool.liberar(nodo);
         }
+    }
+    
+    /**
+     * Agrega todos los elementos al final en una sola pasada
+     * Primero arma la cadena de nodos y después la engancha de una vez
+     * Complejidad: O(k), k = elementos agregados
+     */
+    public void agregarTodos(Iterable<? extends T> datos) {
+        Nodo<T> primero = null;
+        Nodo<T> ultimo = null;
+        int cantidad = 0;
         
-        Nodo<T> actual = cabeza;
-        for (int i = 0; i < indice; i++) {
-            actual = actual.getSiguiente();
+        for (T dato : datos) {
+            Nodo<T> nuevoNodo = crearNodo(dato);
+            if (primero == null) {
+                primero = nuevoNodo;
+            } else {
+                ultimo.setSiguiente(nuevoNodo);
+                nuevoNodo.setAnterior(ultimo);
+            }
+            ultimo = nuevoNodo;
+            cantidad++;
+        }
+        
+        if (cantidad > 0) {
+            enlazarAlFinal(primero, ultimo, cantidad);
+        }
+    }
+    
+    /**
+     * Mueve todos los nodos de 'otra' al final de esta lista
+     * Solo se reconectan cuatro enlaces, no se copia nada: O(1).
+     * 'otra' queda vacía
+     */
+    public void concatenar(MiLista<T> otra) {
+        if (otra == this) {
+            throw new IllegalArgumentException("No se puede concatenar una lista consigo misma");
+        }
+        if (otra.estaVacia()) {
+            return;
+        }
+        
+        Nodo<T> primero = otra.cabeza;
+        Nodo<T> ultimo = otra.cola;
+        int cantidad = otra.tamanio;
+        otra.soltarNodos();
+        
+        enlazarAlFinal(primero, ultimo, cantidad);
+    }
+    
+    /**
+     * Elimina los elementos en [desde, hasta) desenlazando el tramo completo
+     * Complejidad: O(n) para localizar el tramo (O(log n) en MiListaIndexada)
+     * más O(hasta - desde) para recorrerlo
+     */
+    public void eliminarRango(int desde, int hasta) {
+        validarRango(desde, hasta);
+        int cantidad = hasta - desde;
+        if (cantidad == 0) {
+            return;
+        }
+        if (cantidad == tamanio) {
+            limpiar();
+            return;
+        }
+        
+        Nodo<T> primero = nodoEn(desde);
+        Nodo<T> ultimo = primero;
+        for (int i = 1; i < cantidad; i++) {
+            ultimo = ultimo.getSiguiente();
+        }
+        
+        Nodo<T> anterior = primero.getAnterior();
+        Nodo<T> siguiente = ultimo.getSiguiente();
+        anterior.setSiguiente(siguiente);
+        siguiente.setAnterior(anterior);
+        
+        if (primero == cabeza) {
+            cabeza = siguiente;
+        }
+        if (ultimo == cola) {
+            cola = anterior;
+        }
+        tamanio -= cantidad;
+        
+        // Devolver el tramo al pool (si hay) y soltar las referencias
+        Nodo<T> actual = primero;
+        for (int i = 0; i < cantidad; i++) {
+            Nodo<T> proximo = actual.getSiguiente();
+            reciclar(actual);
+            actual = proximo;
+        }
+        estructuraModificada();
+    }
+    
+    /**
+     * Vista de los elementos en [desde, hasta) sin copiarlos
+     * La vista comparte los nodos con esta lista: solo es válida mientras
+     * la lista no se modifique (agregar, eliminar, ordenar...)
+     * Complejidad: la de localizar el primer y último nodo
+     */
+    public SubLista<T> subLista(int desde, int hasta) {
+        validarRango(desde, hasta);
+        if (desde == hasta) {
+            return new SubLista<>(null, null, 0);
+        }
+        return new SubLista<>(nodoEn(desde), nodoEn(hasta - 1), hasta - desde);
+    }
+    
+    private void validarRango(int desde, int hasta) {
+        if (desde < 0 || hasta > tamanio || desde > hasta) {
+            throw new IllegalArgumentException(
+                "Rango inválido [" + desde + ", " + hasta + ") para tamaño " + tamanio);
+        }
+    }
+    
+    /**
+     * Engancha al final una cadena ya enlazada en ambos sentidos
+     */
+    private void enlazarAlFinal(Nodo<T> primero, Nodo<T> ultimo, int cantidad) {
+        if (cabeza == null) {
+            cabeza = primero;
+        } else {
+            cola.setSiguiente(primero);
+            primero.setAnterior(cola);
         }
-        return actual.getDato();
+        cola = ultimo;
+        cola.setSiguiente(cabeza);
+        cabeza.setAnterior(cola);
+        tamanio += cantidad;
+        estructuraModificada();
+    }
+    
+    /**
+     * Olvida los nodos sin devolverlos al pool (pasaron a otra lista)
+     */
+    private void soltarNodos() {
+        cabeza = null;
+        cola = null;
+        tamanio = 0;
+        estructuraModificada();
     }
     
     /**
@@ -135,6 +327,15 @@ public class MiLista<T> {
      * Limpia toda la lista
      */
     public void limpiar() {
+        if (pool != null) {
+            // Devolver nodos solo mientras el pool los acepte
+            Nodo<T> actual = cabeza;
+            for (int i = 0; i < tamanio && !pool.estaLleno(); i++) {
+                Nodo<T> siguiente = actual.getSiguiente();
+                pool.liberar(actual);
+                actual = siguiente;
+            }
+        }
         cabeza = null;
         cola = null;
         tamanio = 0;
@@ -158,6 +359,37 @@ public class MiLista<T> {
         } while (actual != cabeza && indice < tamanio);
     }
     
+    /**
+     * Iterador para usar la estructura en un for-each
+     * Recorre de la cabeza a la cola, una sola vuelta
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new IteradorNodos<>(cabeza, tamanio);
+    }
+    
+    /**
+     * Spliterator divisible (SIZED, ORDERED) para streams secuenciales y paralelos
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new EspliteradorNodos<>(cabeza, tamanio);
+    }
+    
+    /**
+     * Stream secuencial sobre los elementos
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    /**
+     * Stream paralelo sobre los elementos (usa el ForkJoinPool común)
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
     /**
      * Obtiene la cabeza de la lista
      */
@@ -245,6 +477,169 @@ public class MiLista<T> {
         }
     }
     
+    /**
+     * Ordena la lista usando Merge Sort (Ordenamiento por mezcla)
+     * Complejidad: O(n log n) en todos los casos, estable.
+     * No copia datos ni crea nodos: reenlaza los nodos existentes
+     * @param comparador Comparador para determinar el orden
+     */
+    public void ordenarMergeSort(Comparador<T> comparador) {
+        if (tamanio <= 1) {
+            return;
+        }
+        
+        // Romper el círculo para trabajar con una cadena simple terminada en null
+        cola.setSiguiente(null);
+        Nodo<T> nuevaCabeza = mergeSort(cabeza, tamanio, comparador);
+        reenlazar(nuevaCabeza);
+    }
+    
+    /**
+     * Ordena la lista usando Merge Sort en paralelo (Fork/Join)
+     * Las mitades se ordenan en hilos distintos mientras midan más de
+     * UMBRAL_PARALELO; con listas pequeñas equivale a ordenarMergeSort.
+     * Complejidad: O(n log n), estable
+     * @param comparador Comparador para determinar el orden (debe poder usarse desde varios hilos)
+     */
+    public void ordenarMergeSortParalelo(Comparador<T> comparador) {
+        if (tamanio <= UMBRAL_PARALELO) {
+            ordenarMergeSort(comparador);
+            return;
+        }
+        
+        cola.setSiguiente(null);
+        Nodo<T> nuevaCabeza = ForkJoinPool.commonPool()
+            .invoke(new TareaMergeSort<>(cabeza, tamanio, comparador));
+        reenlazar(nuevaCabeza);
+    }
+    
+    /**
+     * Ordena una cadena de 'cantidad' nodos enlazados por 'siguiente'
+     * @return Primer nodo de la cadena ordenada (el último apunta a null)
+     */
+    private static <T> Nodo<T> mergeSort(Nodo<T> inicio, int cantidad, Comparador<T> comparador) {
+        if (cantidad <= 1) {
+            return inicio;
+        }
+        
+        int mitad = cantidad / 2;
+        Nodo<T> segunda = partir(inicio, mitad);
+        
+        Nodo<T> izquierda = mergeSort(inicio, mitad, comparador);
+        Nodo<T> derecha = mergeSort(segunda, cantidad - mitad, comparador);
+        return mezclar(izquierda, derecha, comparador);
+    }
+    
+    /**
+     * Corta la cadena después de 'cantidad' nodos
+     * @return Primer nodo de la segunda parte
+     */
+    private static <T> Nodo<T> partir(Nodo<T> inicio, int cantidad) {
+        Nodo<T> ultimo = inicio;
+        for (int i = 1; i < cantidad; i++) {
+            ultimo = ultimo.getSiguiente();
+        }
+        Nodo<T> segunda = ultimo.getSiguiente();
+        ultimo.setSiguiente(null);
+        return segunda;
+    }
+    
+    /**
+     * Mezcla dos cadenas ordenadas en una sola
+     * En empates toma primero de la izquierda para que el orden sea estable
+     */
+    private static <T> Nodo<T> mezclar(Nodo<T> a, Nodo<T> b, Comparador<T> comparador) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        
+        Nodo<T> inicio;
+        if (comparador.comparar(a.getDato(), b.getDato()) <= 0) {
+            inicio = a;
+            a = a.getSiguiente();
+        } else {
+            inicio = b;
+            b = b.getSiguiente();
+        }
+        
+        Nodo<T> ultimo = inicio;
+        while (a != null && b != null) {
+            if (comparador.comparar(a.getDato(), b.getDato()) <= 0) {
+                ultimo.setSiguiente(a);
+                a = a.getSiguiente();
+            } else {
+                ultimo.setSiguiente(b);
+                b = b.getSiguiente();
+            }
+            ultimo = ultimo.getSiguiente();
+        }
+        ultimo.setSiguiente(a != null ? a : b);
+        return inicio;
+    }
+    
+    /**
+     * Reconstruye los enlaces 'anterior' y la circularidad
+     * a partir de una cadena simple ya ordenada
+     */
+    private void reenlazar(Nodo<T> nuevaCabeza) {
+        Nodo<T> anterior = null;
+        Nodo<T> actual = nuevaCabeza;
+        
+        while (actual != null) {
+            actual.setAnterior(anterior);
+            anterior = actual;
+            actual = actual.getSiguiente();
+        }
+        
+        cabeza = nuevaCabeza;
+        cola = anterior;
+        cola.setSiguiente(cabeza);
+        cabeza.setAnterior(cola);
+        estructuraModificada();
+    }
+    
+    /**
+     * Se invoca cuando los nodos cambiaron de posición sin pasar por
+     * agregar/eliminar, para que las subclases invaliden sus índices
+     */
+    protected void estructuraModificada() {
+        // La lista básica no guarda información adicional
+    }
+    
+    /**
+     * Tarea Fork/Join del Merge Sort paralelo
+     */
+    private static class TareaMergeSort<T> extends RecursiveTask<Nodo<T>> {
+        private final Nodo<T> inicio;
+        private final int cantidad;
+        private final Comparador<T> comparador;
+        
+        TareaMergeSort(Nodo<T> inicio, int cantidad, Comparador<T> comparador) {
+            this.inicio = inicio;
+            this.cantidad = cantidad;
+            this.comparador = comparador;
+        }
+        
+        @Override
+        protected Nodo<T> compute() {
+            if (cantidad <= UMBRAL_PARALELO) {
+                return mergeSort(inicio, cantidad, comparador);
+            }
+            
+            int mitad = cantidad / 2;
+            Nodo<T> segunda = partir(inicio, mitad);
+            
+            TareaMergeSort<T> izquierda = new TareaMergeSort<>(inicio, mitad, comparador);
+            TareaMergeSort<T> derecha = new TareaMergeSort<>(segunda, cantidad - mitad, comparador);
+            izquierda.fork();
+            Nodo<T> derechaOrdenada = derecha.compute();
+            return mezclar(izquierda.join(), derechaOrdenada, comparador);
+        }
+    }
+    
     /**
      * Interfaz funcional para recorrer la lista
      */
@@ -0,0 +1,254 @@
+package org.upemor.reproductor.estructuras;
+
+/**
+ * Lista Circular Doblemente Enlazada con índice por bloques
+ * Mantiene los mismos nodos y la misma circularidad que MiLista, pero agrupa
+ * los nodos en bloques consecutivos de a lo más TAMANIO_BLOQUE elementos y
+ * guarda el tamaño de cada bloque en un árbol de Fenwick (árbol binario indexado).
+ *
+ * Así obtener(i) y eliminar(i) cuestan O(log n) en lugar de O(n):
+ * el árbol indica en qué bloque cae el índice y dentro del bloque
+ * se camina a lo más TAMANIO_BLOQUE nodos.
+ *
+ * NO usa colecciones de Java, solo arreglos
+ * @param <T> Tipo de dato que almacena la lista
+ * @author Sistema de Estructuras de Datos
+ */
+public class MiListaIndexada<T> extends MiLista<T> {
+    private static final int TAMANIO_BLOQUE = 32;
+    private static final int CAPACIDAD_INICIAL = 16;
+    
+    private Nodo<T>[] primeros;  // Primer nodo de cada bloque
+    private int[] tamanios;      // Cantidad de nodos de cada bloque
+    private int[] arbol;         // Árbol de Fenwick sobre tamanios (base 1)
+    private int bloques;         // Bloques en uso
+    private int bloquesVacios;   // Bloques que quedaron sin nodos
+    private boolean valido;      // false si hay que reconstruir el índice
+    
+    public MiListaIndexada() {
+        super();
+        crearIndice(CAPACIDAD_INICIAL);
+    }
+    
+    public MiListaIndexada(PoolNodos<T> pool) {
+        super(pool);
+        crearIndice(CAPACIDAD_INICIAL);
+    }
+    
+    /**
+     * Agrega un elemento al final de la lista
+     * Complejidad: O(log n) para mantener el índice
+     */
+    @Override
+    public void agregar(T dato) {
+        super.agregar(dato);
+        
+        if (!valido) {
+            return; // Se reconstruirá completo en el siguiente acceso
+        }
+        
+        Nodo<T> nuevo = getCola();
+        int ultimo = bloques - 1;
+        
+        if (ultimo >= 0 && tamanios[ultimo] == 0) {
+            // Reutilizar el último bloque que había quedado vacío
+            primeros[ultimo] = nuevo;
+            bloquesVacios--;
+            incrementar(ultimo, 1);
+        } else if (ultimo >= 0 && tamanios[ultimo] < TAMANIO_BLOQUE) {
+            incrementar(ultimo, 1);
+        } else {
+            agregarBloque(nuevo);
+        }
+    }
+    
+    /**
+     * Elimina el elemento en la posición especificada
+     * Complejidad: O(log n)
+     */
+    @Override
+    public boolean eliminar(int indice) {
+        if (indice < 0 || indice >= tamanio()) {
+            return false;
+        }
+        
+        asegurarIndice();
+        
+        int bloque = localizarBloque(indice);
+        int desplazamiento = indice - prefijo(bloque);
+        Nodo<T> nodo = caminar(primeros[bloque], desplazamiento);
+        
+        if (desplazamiento == 0) {
+            primeros[bloque] = tamanios[bloque] > 1 ? nodo.getSiguiente() : null;
+        }
+        incrementar(bloque, -1);
+        if (tamanios[bloque] == 0) {
+            bloquesVacios++;
+        }
+        
+        desenlazar(nodo);
+        
+        // Demasiados bloques vacíos degradan la búsqueda: compactar después
+        if (bloquesVacios > bloques / 2 && bloques > CAPACIDAD_INICIAL) {
+            valido = false;
+        }
+        return true;
+    }
+    
+    /**
+     * Localiza el nodo de una posición válida en O(log n)
+     */
+    @Override
+    protected Nodo<T> nodoEn(int indice) {
+        asegurarIndice();
+        
+        int bloque = localizarBloque(indice);
+        return caminar(primeros[bloque], indice - prefijo(bloque));
+    }
+    
+    /**
+     * Limpia toda la lista y su índice
+     */
+    @Override
+    public void limpiar() {
+        super.limpiar();
+        crearIndice(CAPACIDAD_INICIAL);
+    }
+    
+    /**
+     * Los nodos cambiaron de lugar (por ejemplo al ordenar): reconstruir después
+     */
+    @Override
+    protected void estructuraModificada() {
+        valido = false;
+    }
+    
+    // ==================== Índice por bloques ====================
+    
+    @SuppressWarnings("unchecked")
+    private void crearIndice(int capacidad) {
+        primeros = (Nodo<T>[]) new Nodo[capacidad];
+        tamanios = new int[capacidad];
+        arbol = new int[capacidad + 1];
+        bloques = 0;
+        bloquesVacios = 0;
+        valido = true;
+    }
+    
+    private void asegurarIndice() {
+        if (!valido) {
+            reconstruir();
+        }
+    }
+    
+    /**
+     * Reparte todos los nodos en bloques llenos y arma el árbol en O(n)
+     */
+    private void reconstruir() {
+        int n = tamanio();
+        int necesarios = (n + TAMANIO_BLOQUE - 1) / TAMANIO_BLOQUE;
+        crearIndice(Math.max(CAPACIDAD_INICIAL, necesarios));
+        
+        Nodo<T> actual = getCabeza();
+        for (int i = 0; i < n; i++) {
+            if (i % TAMANIO_BLOQUE == 0) {
+                primeros[bloques] = actual;
+                bloques++;
+            }
+            tamanios[bloques - 1]++;
+            actual = actual.getSiguiente();
+        }
+        
+        // Construcción lineal del árbol de Fenwick
+        for (int i = 1; i <= bloques; i++) {
+            arbol[i] += tamanios[i - 1];
+            int padre = i + (i & -i);
+            if (padre <= bloques) {
+                arbol[padre] += arbol[i];
+            }
+        }
+    }
+    
+    /**
+     * Agrega un bloque nuevo al final con un solo nodo
+     */
+    private void agregarBloque(Nodo<T> primero) {
+        if (bloques == primeros.length) {
+            crecer();
+        }
+        
+        int k = bloques + 1; // posición en base 1
+        primeros[bloques] = primero;
+        tamanios[bloques] = 1;
+        // El nodo k del árbol cubre los bloques (k - lowbit(k), k]
+        arbol[k] = 1 + prefijo(k - 1) - prefijo(k - (k & -k));
+        bloques++;
+    }
+    
+    /**
+     * Duplica la capacidad; las entradas existentes del árbol siguen siendo válidas
+     */
+    @SuppressWarnings("unchecked")
+    private void crecer() {
+        int capacidad = primeros.length * 2;
+        
+        Nodo<T>[] nuevosPrimeros = (Nodo<T>[]) new Nodo[capacidad];
+        int[] nuevosTamanios = new int[capacidad];
+        int[] nuevoArbol = new int[capacidad + 1];
+        
+        System.arraycopy(primeros, 0, nuevosPrimeros, 0, bloques);
+        System.arraycopy(tamanios, 0, nuevosTamanios, 0, bloques);
+        System.arraycopy(arbol, 0, nuevoArbol, 0, bloques + 1);
+        
+        primeros = nuevosPrimeros;
+        tamanios = nuevosTamanios;
+        arbol = nuevoArbol;
+    }
+    
+    /**
+     * Suma delta al tamaño de un bloque (base 0)
+     */
+    private void incrementar(int bloque, int delta) {
+        tamanios[bloque] += delta;
+        for (int i = bloque + 1; i <= bloques; i += i & -i) {
+            arbol[i] += delta;
+        }
+    }
+    
+    /**
+     * Cantidad de nodos en los primeros 'cantidad' bloques
+     */
+    private int prefijo(int cantidad) {
+        int suma = 0;
+        for (int i = cantidad; i > 0; i -= i & -i) {
+            suma += arbol[i];
+        }
+        return suma;
+    }
+    
+    /**
+     * Bloque (base 0) que contiene la posición indicada
+     * Desciende por el árbol de Fenwick en O(log n)
+     */
+    private int localizarBloque(int indice) {
+        int posicion = 0;
+        int restante = indice;
+        
+        for (int paso = Integer.highestOneBit(bloques); paso > 0; paso >>= 1) {
+            int siguiente = posicion + paso;
+            if (siguiente <= bloques && arbol[siguiente] <= restante) {
+                posicion = siguiente;
+                restante -= arbol[siguiente];
+            }
+        }
+        return posicion;
+    }
+    
+    private Nodo<T> caminar(Nodo<T> desde, int pasos) {
+        Nodo<T> actual = desde;
+        for (int i = 0; i < pasos; i++) {
+            actual = actual.getSiguiente();
+        }
+        return actual;
+    }
+}
@@ -0,0 +1,220 @@
+package org.upemor.reproductor.estructuras;
+
+/**
+ * Implementación manual de Mapa (tabla hash) con direccionamiento abierto
+ * Claves y valores viven en dos arreglos paralelos: no se crea ningún
+ * objeto por entrada. Las colisiones se resuelven con sondeo lineal y el
+ * borrado desplaza hacia atrás las entradas siguientes (sin lápidas).
+ *
+ * Complejidad esperada: poner, obtener y eliminar O(1)
+ * NO usa HashMap de Java
+ * @param <K> Tipo de la clave (debe implementar equals y hashCode)
+ * @param <V> Tipo del valor
+ * @author Sistema de Estructuras de Datos
+ */
+public class MiMapa<K, V> {
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final float FACTOR_CARGA = 0.6f;
+    
+    private Object[] claves;   // null = casilla libre
+    private Object[] valores;
+    private int tamanio;
+    private int umbral;
+    
+    public MiMapa() {
+        this(CAPACIDAD_INICIAL);
+    }
+    
+    /**
+     * Crea el mapa con espacio para 'esperados' elementos sin crecer
+     */
+    public MiMapa(int esperados) {
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad * FACTOR_CARGA < esperados) {
+            capacidad <<= 1;
+        }
+        crearTabla(capacidad);
+    }
+    
+    /**
+     * Asocia un valor a una clave
+     * @return El valor anterior o null si la clave no existía
+     */
+    @SuppressWarnings("unchecked")
+    public V poner(K clave, V valor) {
+        if (clave == null) {
+            throw new IllegalArgumentException("El mapa no admite claves nulas");
+        }
+        
+        int mascara = claves.length - 1;
+        int i = dispersar(clave) & mascara;
+        while (claves[i] != null) {
+            if (claves[i].equals(clave)) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamanio > umbral) {
+            redimensionar(claves.length * 2);
+        }
+        return null;
+    }
+    
+    /**
+     * Obtiene el valor asociado a una clave
+     * @return El valor o null si la clave no existe
+     */
+    @SuppressWarnings("unchecked")
+    public V obtener(Object clave) {
+        int i = buscarPosicion(clave);
+        return i >= 0 ? (V) valores[i] : null;
+    }
+    
+    /**
+     * Verifica si la clave existe en el mapa
+     */
+    public boolean contiene(Object clave) {
+        return buscarPosicion(clave) >= 0;
+    }
+    
+    /**
+     * Elimina una clave del mapa
+     * @return El valor que tenía o null si no existía
+     */
+    @SuppressWarnings("unchecked")
+    public V eliminar(Object clave) {
+        int i = buscarPosicion(clave);
+        if (i < 0) {
+            return null;
+        }
+        
+        V anterior = (V) valores[i];
+        desplazarHaciaAtras(i);
+        tamanio--;
+        return anterior;
+    }
+    
+    /**
+     * Obtiene el número de entradas
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Verifica si el mapa está vacío
+     */
+    public boolean estaVacio() {
+        return tamanio == 0;
+    }
+    
+    /**
+     * Elimina todas las entradas (conserva la capacidad)
+     */
+    public void limpiar() {
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = null;
+            valores[i] = null;
+        }
+        tamanio = 0;
+    }
+    
+    /**
+     * Recorre todas las entradas (sin orden particular)
+     */
+    @SuppressWarnings("unchecked")
+    public void recorrer(AccionMapa<K, V> accion) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null) {
+                accion.ejecutar((K) claves[i], (V) valores[i]);
+            }
+        }
+    }
+    
+    private int buscarPosicion(Object clave) {
+        if (clave == null) {
+            return -1;
+        }
+        
+        int mascara = claves.length - 1;
+        int i = dispersar(clave) & mascara;
+        while (claves[i] != null) {
+            if (claves[i].equals(clave)) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+    
+    /**
+     * Borrado en sondeo lineal: recorre el grupo que sigue a la casilla
+     * liberada y regresa a ella cada entrada que quedaría inalcanzable
+     */
+    private void desplazarHaciaAtras(int libre) {
+        int mascara = claves.length - 1;
+        int i = libre;
+        
+        while (true) {
+            i = (i + 1) & mascara;
+            if (claves[i] == null) {
+                break;
+            }
+            int ideal = dispersar(claves[i]) & mascara;
+            // Mover si la posición ideal no está en el tramo circular (libre, i]
+            if (((i - ideal) & mascara) >= ((i - libre) & mascara)) {
+                claves[libre] = claves[i];
+                valores[libre] = valores[i];
+                libre = i;
+            }
+        }
+        claves[libre] = null;
+        valores[libre] = null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void redimensionar(int capacidad) {
+        Object[] viejasClaves = claves;
+        Object[] viejosValores = valores;
+        crearTabla(capacidad);
+        
+        int mascara = capacidad - 1;
+        for (int j = 0; j < viejasClaves.length; j++) {
+            if (viejasClaves[j] != null) {
+                int i = dispersar(viejasClaves[j]) & mascara;
+                while (claves[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = viejasClaves[j];
+                valores[i] = viejosValores[j];
+            }
+        }
+    }
+    
+    private void crearTabla(int capacidad) {
+        claves = new Object[capacidad];
+        valores = new Object[capacidad];
+        umbral = (int) (capacidad * FACTOR_CARGA);
+    }
+    
+    /**
+     * Mezcla los bits del hashCode para repartir mejor las claves
+     */
+    private static int dispersar(Object clave) {
+        int h = clave.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    
+    /**
+     * Interfaz funcional para recorrer el mapa
+     */
+    @FunctionalInterface
+    public interface AccionMapa<K, V> {
+        void ejecutar(K clave, V valor);
+    }
+}
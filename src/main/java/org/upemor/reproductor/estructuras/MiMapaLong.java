@@ -0,0 +1,211 @@
+package org.upemor.reproductor.estructuras;
+
+/**
+ * Mapa con claves primitivas long (por ejemplo Cancion.id)
+ * Igual que MiMapa pero sin convertir la clave a Long: las claves viven
+ * en un long[] y un boolean[] marca las casillas ocupadas.
+ *
+ * Complejidad esperada: poner, obtener y eliminar O(1)
+ * @param <V> Tipo del valor
+ * @author Sistema de Estructuras de Datos
+ */
+public class MiMapaLong<V> {
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final float FACTOR_CARGA = 0.6f;
+    
+    private long[] claves;
+    private Object[] valores;
+    private boolean[] ocupadas;
+    private int tamanio;
+    private int umbral;
+    
+    public MiMapaLong() {
+        this(CAPACIDAD_INICIAL);
+    }
+    
+    /**
+     * Crea el mapa con espacio para 'esperados' elementos sin crecer
+     */
+    public MiMapaLong(int esperados) {
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad * FACTOR_CARGA < esperados) {
+            capacidad <<= 1;
+        }
+        crearTabla(capacidad);
+    }
+    
+    /**
+     * Asocia un valor a una clave
+     * @return El valor anterior o null si la clave no existía
+     */
+    @SuppressWarnings("unchecked")
+    public V poner(long clave, V valor) {
+        int mascara = claves.length - 1;
+        int i = dispersar(clave) & mascara;
+        while (ocupadas[i]) {
+            if (claves[i] == clave) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        
+        ocupadas[i] = true;
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamanio > umbral) {
+            redimensionar(claves.length * 2);
+        }
+        return null;
+    }
+    
+    /**
+     * Obtiene el valor asociado a una clave
+     * @return El valor o null si la clave no existe
+     */
+    @SuppressWarnings("unchecked")
+    public V obtener(long clave) {
+        int i = buscarPosicion(clave);
+        return i >= 0 ? (V) valores[i] : null;
+    }
+    
+    /**
+     * Verifica si la clave existe en el mapa
+     */
+    public boolean contiene(long clave) {
+        return buscarPosicion(clave) >= 0;
+    }
+    
+    /**
+     * Elimina una clave del mapa
+     * @return El valor que tenía o null si no existía
+     */
+    @SuppressWarnings("unchecked")
+    public V eliminar(long clave) {
+        int i = buscarPosicion(clave);
+        if (i < 0) {
+            return null;
+        }
+        
+        V anterior = (V) valores[i];
+        desplazarHaciaAtras(i);
+        tamanio--;
+        return anterior;
+    }
+    
+    /**
+     * Obtiene el número de entradas
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Verifica si el mapa está vacío
+     */
+    public boolean estaVacio() {
+        return tamanio == 0;
+    }
+    
+    /**
+     * Elimina todas las entradas (conserva la capacidad)
+     */
+    public void limpiar() {
+        for (int i = 0; i < claves.length; i++) {
+            ocupadas[i] = false;
+            valores[i] = null;
+        }
+        tamanio = 0;
+    }
+    
+    /**
+     * Recorre todas las entradas (sin orden particular)
+     */
+    @SuppressWarnings("unchecked")
+    public void recorrer(AccionMapaLong<V> accion) {
+        for (int i = 0; i < claves.length; i++) {
+            if (ocupadas[i]) {
+                accion.ejecutar(claves[i], (V) valores[i]);
+            }
+        }
+    }
+    
+    private int buscarPosicion(long clave) {
+        int mascara = claves.length - 1;
+        int i = dispersar(clave) & mascara;
+        while (ocupadas[i]) {
+            if (claves[i] == clave) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+    
+    /**
+     * Borrado en sondeo lineal sin lápidas (ver MiMapa)
+     */
+    private void desplazarHaciaAtras(int libre) {
+        int mascara = claves.length - 1;
+        int i = libre;
+        
+        while (true) {
+            i = (i + 1) & mascara;
+            if (!ocupadas[i]) {
+                break;
+            }
+            int ideal = dispersar(claves[i]) & mascara;
+            if (((i - ideal) & mascara) >= ((i - libre) & mascara)) {
+                claves[libre] = claves[i];
+                valores[libre] = valores[i];
+                libre = i;
+            }
+        }
+        ocupadas[libre] = false;
+        valores[libre] = null;
+    }
+    
+    private void redimensionar(int capacidad) {
+        long[] viejasClaves = claves;
+        Object[] viejosValores = valores;
+        boolean[] viejasOcupadas = ocupadas;
+        crearTabla(capacidad);
+        
+        int mascara = capacidad - 1;
+        for (int j = 0; j < viejasClaves.length; j++) {
+            if (viejasOcupadas[j]) {
+                int i = dispersar(viejasClaves[j]) & mascara;
+                while (ocupadas[i]) {
+                    i = (i + 1) & mascara;
+                }
+                ocupadas[i] = true;
+                claves[i] = viejasClaves[j];
+                valores[i] = viejosValores[j];
+            }
+        }
+    }
+    
+    private void crearTabla(int capacidad) {
+        claves = new long[capacidad];
+        valores = new Object[capacidad];
+        ocupadas = new boolean[capacidad];
+        umbral = (int) (capacidad * FACTOR_CARGA);
+    }
+    
+    /**
+     * Mezcla los 64 bits de la clave (los id consecutivos no deben caer juntos)
+     */
+    private static int dispersar(long clave) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+    
+    /**
+     * Interfaz funcional para recorrer el mapa
+     */
+    @FunctionalInterface
+    public interface AccionMapaLong<V> {
+        void ejecutar(long clave, V valor);
+    }
+}
@@ -1,25 +1,40 @@
 package org.upemor.reproductor.estructuras;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Implementación manual de Pila (Stack) - LIFO (Last In First Out)
  * NO usa Stack de Java
  * @param <T> Tipo de dato que almacena la pila
  * @author Sistema de Estructuras de Datos
  */
-public class MiPila<T> {
+public class MiPila<T> implements Iterable<T> {
     private Nodo<T> tope;
     private int tamanio;
+    private final PoolNodos<T> pool; // Opcional: null crea nodos nuevos siempre
     
     public MiPila() {
+        this(null);
+    }
+    
+    /**
+     * Crea una pila que recicla sus nodos: con el pool caliente,
+     * apilar y desapilar ya no crean objetos
+     */
+    public MiPila(PoolNodos<T> pool) {
         this.tope = null;
         this.tamanio = 0;
+        this.pool = pool;
     }
     
     /**
      * Apila un elemento (push)
      */
     public void apilar(T dato) {
-        Nodo<T> nuevoNodo = new Nodo<>(dato);
+        Nodo<T> nuevoNodo = pool != null ? pool.obtener(dato) : new Nodo<>(dato);
         nuevoNodo.setSiguiente(tope);
         tope = nuevoNodo;
         tamanio++;
@@ -33,8 +48,13 @@ public class MiPila<T> {
             return null;
         }
         
-        T dato = tope.getDato();
-        tope = tope.getSiguiente();
+        Nodo<T> anterior = tope;
+        T dato = anterior.getDato();
+        tope = anterior.getSiguiente();
+        
+        if (pool != null) {
+            pool.liberar(anterior);
+        }
         tamanio--;
         return dato;
     }
@@ -67,23 +87,57 @@ public class MiPila<T> {
      * Limpia toda la pila
      */
     public void limpiar() {
+        if (pool != null) {
+            // Devolver nodos solo mientras el pool los acepte
+            Nodo<T> actual = tope;
+            while (actual != null && !pool.estaLleno()) {
+                Nodo<T> siguiente = actual.getSiguiente();
+                pool.liberar(actual);
+                actual = siguiente;
+            }
+        }
         tope = null;
         tamanio = 0;
     }
     
+    /**
+     * Iterador para usar la estructura en un for-each
+     * Recorre del tope al fondo
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new IteradorNodos<>(tope, tamanio);
+    }
+    
+    /**
+     * Spliterator divisible (SIZED, ORDERED) para streams secuenciales y paralelos
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new EspliteradorNodos<>(tope, tamanio);
+    }
+    
+    /**
+     * Stream secuencial sobre los elementos
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    /**
+     * Stream paralelo sobre los elementos (usa el ForkJoinPool común)
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
     /**
      * Convierte la pila a una lista para poder visualizarla
      * (sin modificar la pila original)
      */
     public MiLista<T> aLista() {
-        MiLista<T> lista = new MiLista<>();
-        Nodo<T> actual = tope;
-        
-        while (actual != null) {
-            lista.agregar(actual.getDato());
-            actual = actual.getSiguiente();
-        }
-        
+        MiLista<T> lista = new MiListaIndexada<>();
+        lista.agregarTodos(this); // Una sola pasada, un solo enganche
         return lista;
     }
 }
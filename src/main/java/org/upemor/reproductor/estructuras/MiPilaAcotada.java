@@ -0,0 +1,387 @@
+package org.upemor.reproductor.estructuras;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Implementación manual de Pila (Stack) - LIFO con memoria acotada
+ * Los 'capacidad' elementos más recientes viven en un arreglo circular;
+ * cuando se llena, el más antiguo se escribe al final de un archivo
+ * (segmento de solo-agregar) y se libera de la memoria.
+ * El disco también está acotado: al pasar de 'limiteDisco' registros se
+ * descarta el más antiguo. Los índices de los registros forman un anillo
+ * y el archivo se compacta cuando lo descartado ocupa más que lo vigente,
+ * así el archivo nunca pasa del doble de lo que guarda.
+ *
+ * El tope siempre está en memoria, así que apilar/desapilar/verTope
+ * son O(1); solo se lee del disco al desapilar más allá de lo que hay en
+ * memoria o al pedir páginas antiguas con obtenerPagina().
+ * instantaneaRecientes() entrega en O(1) una vista inmutable de la parte
+ * en memoria que comparte el arreglo (copy-on-write).
+ * NO usa Stack de Java
+ * @param <T> Tipo de dato que almacena la pila
+ * @author Sistema de Estructuras de Datos
+ */
+public class MiPilaAcotada<T> {
+    private static final int CAPACIDAD_INDICE_INICIAL = 64;
+    private static final int LIMITE_DISCO_POR_DEFECTO = 10000;
+    private static final int TAMANIO_BLOQUE_COPIA = 8192;
+    
+    private Object[] recientes;        // Arreglo circular con los más recientes
+    private final RegionCompartida compartida = new RegionCompartida();
+    private int fondo;                 // Posición del más antiguo en memoria
+    private int enMemoria;
+    
+    private final RandomAccessFile archivo;
+    private final Serializador<T> serializador;
+    private final int limiteDisco;
+    private long[] desplazamientos;    // Anillo con el inicio de cada registro en el archivo
+    private int primero;               // Posición en el anillo del registro más antiguo
+    private int enDisco;
+    private long finArchivo;
+    
+    /**
+     * Crea la pila con el límite de disco por defecto
+     * @param capacidad Elementos que se conservan en memoria
+     * @param archivoDesborde Archivo donde se escriben los elementos más antiguos
+     * @param serializador Cómo escribir y leer un elemento en el archivo
+     */
+    public MiPilaAcotada(int capacidad, Path archivoDesborde, Serializador<T> serializador) {
+        this(capacidad, LIMITE_DISCO_POR_DEFECTO, archivoDesborde, serializador);
+    }
+    
+    /**
+     * Crea la pila. El archivo de desborde se vacía al iniciar.
+     * @param capacidad Elementos que se conservan en memoria
+     * @param limiteDisco Máximo de elementos en el archivo; los más antiguos se descartan
+     * @param archivoDesborde Archivo donde se escriben los elementos más antiguos
+     * @param serializador Cómo escribir y leer un elemento en el archivo
+     */
+    public MiPilaAcotada(int capacidad, int limiteDisco, Path archivoDesborde, Serializador<T> serializador) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor a 0");
+        }
+        if (limiteDisco <= 0) {
+            throw new IllegalArgumentException("El límite de disco debe ser mayor a 0");
+        }
+        this.recientes = new Object[capacidad];
+        this.fondo = 0;
+        this.enMemoria = 0;
+        this.serializador = serializador;
+        this.limiteDisco = limiteDisco;
+        this.desplazamientos = new long[Math.min(CAPACIDAD_INDICE_INICIAL, limiteDisco)];
+        this.primero = 0;
+        this.enDisco = 0;
+        this.finArchivo = 0;
+        
+        try {
+            this.archivo = new RandomAccessFile(archivoDesborde.toFile(), "rw");
+            this.archivo.setLength(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el archivo de historial", e);
+        }
+    }
+    
+    /**
+     * Apila un elemento (push)
+     * Si la memoria está llena, el más antiguo se pasa al disco
+     */
+    public void apilar(T dato) {
+        if (enMemoria == recientes.length) {
+            desbordar();
+        }
+        int posicion = (fondo + enMemoria) % recientes.length;
+        if (compartida.contiene(posicion, recientes.length)) {
+            // Una instantánea todavía ve esta posición: copiar antes de escribir
+            // (solo lo vigente, lo ya desapilado no se arrastra a la copia)
+            Object[] copia = new Object[recientes.length];
+            for (int i = 0; i < enMemoria; i++) {
+                int vigente = (fondo + i) % recientes.length;
+                copia[vigente] = recientes[vigente];
+            }
+            recientes = copia;
+            compartida.soltar();
+        }
+        recientes[posicion] = dato;
+        enMemoria++;
+    }
+    
+    /**
+     * Desapila un elemento (pop)
+     */
+    @SuppressWarnings("unchecked")
+    public T desapilar() {
+        if (enMemoria > 0) {
+            int posicion = (fondo + enMemoria - 1) % recientes.length;
+            T dato = (T) recientes[posicion];
+            liberar(posicion);
+            enMemoria--;
+            return dato;
+        }
+        if (enDisco > 0) {
+            // Memoria agotada: tomar el último registro del archivo y recortarlo
+            T dato = leerRegistro(enDisco - 1);
+            enDisco--;
+            if (enDisco == 0) {
+                // Sin registros vigentes: soltar también lo descartado al inicio
+                primero = 0;
+                finArchivo = 0;
+            } else {
+                finArchivo = desplazamientos[posicionIndice(enDisco)];
+            }
+            try {
+                archivo.setLength(finArchivo);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo recortar el historial", e);
+            }
+            return dato;
+        }
+        return null;
+    }
+    
+    /**
+     * Ve el elemento en el tope sin sacarlo (peek)
+     */
+    public T verTope() {
+        if (estaVacia()) {
+            return null;
+        }
+        return obtener(0);
+    }
+    
+    /**
+     * Obtiene un elemento contando desde el tope (0 = más reciente)
+     */
+    @SuppressWarnings("unchecked")
+    public T obtener(int indice) {
+        if (indice < 0 || indice >= tamanio()) {
+            return null;
+        }
+        if (indice < enMemoria) {
+            return (T) recientes[(fondo + enMemoria - 1 - indice) % recientes.length];
+        }
+        return leerRegistro(enDisco - 1 - (indice - enMemoria));
+    }
+    
+    /**
+     * Obtiene una página del historial, del más reciente al más antiguo
+     * Solo se leen del disco los registros de esa página
+     * @param pagina Número de página (desde 0)
+     * @param tamanioPagina Elementos por página
+     */
+    public MiLista<T> obtenerPagina(int pagina, int tamanioPagina) {
+        MiLista<T> resultado = new MiListaIndexada<>();
+        int desde = pagina * tamanioPagina;
+        int hasta = Math.min(desde + tamanioPagina, tamanio());
+        
+        for (int i = desde; i < hasta; i++) {
+            resultado.agregar(obtener(i));
+        }
+        return resultado;
+    }
+    
+    /**
+     * Verifica si la pila está vacía
+     */
+    public boolean estaVacia() {
+        return enMemoria == 0 && enDisco == 0;
+    }
+    
+    /**
+     * Obtiene el tamaño total de la pila (memoria + disco)
+     */
+    public int tamanio() {
+        return enMemoria + enDisco;
+    }
+    
+    /**
+     * Cantidad de elementos que están en memoria
+     */
+    public int tamanioEnMemoria() {
+        return enMemoria;
+    }
+    
+    /**
+     * Limpia toda la pila, incluido el archivo de desborde
+     */
+    public void limpiar() {
+        // Arreglo nuevo: las instantáneas conservan el anterior
+        recientes = new Object[recientes.length];
+        compartida.soltar();
+        fondo = 0;
+        enMemoria = 0;
+        primero = 0;
+        enDisco = 0;
+        finArchivo = 0;
+        try {
+            archivo.setLength(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo limpiar el historial", e);
+        }
+    }
+    
+    /**
+     * Vista inmutable de los elementos en memoria, del tope hacia abajo
+     * Complejidad: O(1), no copia elementos
+     */
+    public Instantanea<T> instantaneaRecientes() {
+        Instantanea<T> vista = new Instantanea<>(recientes, fondo, enMemoria, true);
+        compartida.proteger(vista, fondo, enMemoria, recientes.length);
+        return vista;
+    }
+    
+    /**
+     * Convierte la pila completa a una lista (tope primero)
+     * Lee todo el archivo: preferir obtenerPagina() para vistas
+     */
+    public MiLista<T> aLista() {
+        return obtenerPagina(0, tamanio());
+    }
+    
+    /**
+     * Cierra el archivo de desborde
+     */
+    public void cerrar() {
+        try {
+            archivo.close();
+        } catch (IOException e) {
+            System.err.println("Error al cerrar archivo de historial: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Escribe el elemento más antiguo de la memoria al final del archivo
+     * Si el archivo ya tiene 'limiteDisco' registros, antes descarta el más antiguo
+     */
+    @SuppressWarnings("unchecked")
+    private void desbordar() {
+        T antiguo = (T) recientes[fondo];
+        liberar(fondo);
+        fondo = (fondo + 1) % recientes.length;
+        enMemoria--;
+        
+        try {
+            if (enDisco == limiteDisco) {
+                descartarMasAntiguo();
+            }
+            
+            // Armar el registro completo en memoria para escribirlo con una sola llamada
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            serializador.escribir(antiguo, new DataOutputStream(bytes));
+            
+            archivo.seek(finArchivo);
+            archivo.write(bytes.toByteArray());
+            
+            if (enDisco == desplazamientos.length) {
+                crecerIndice();
+            }
+            desplazamientos[posicionIndice(enDisco)] = finArchivo;
+            enDisco++;
+            finArchivo += bytes.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el historial", e);
+        }
+    }
+    
+    /**
+     * Olvida el registro más antiguo del archivo
+     * Sus bytes quedan muertos al inicio hasta que se compacta
+     */
+    private void descartarMasAntiguo() throws IOException {
+        primero = (primero + 1) % desplazamientos.length;
+        enDisco--;
+        
+        long inicioVigente = enDisco > 0 ? desplazamientos[primero] : finArchivo;
+        if (inicioVigente > finArchivo - inicioVigente) {
+            compactar(inicioVigente);
+        }
+    }
+    
+    /**
+     * Mueve los registros vigentes al inicio del archivo y lo recorta
+     * Solo ocurre cuando lo descartado ya ocupa más que lo vigente, así que
+     * el costo de copiar se reparte entre los registros descartados
+     */
+    private void compactar(long inicioVigente) throws IOException {
+        byte[] bloque = new byte[TAMANIO_BLOQUE_COPIA];
+        long leido = inicioVigente;
+        long escrito = 0;
+        while (leido < finArchivo) {
+            int cantidad = (int) Math.min(bloque.length, finArchivo - leido);
+            archivo.seek(leido);
+            archivo.readFully(bloque, 0, cantidad);
+            archivo.seek(escrito);
+            archivo.write(bloque, 0, cantidad);
+            leido += cantidad;
+            escrito += cantidad;
+        }
+        
+        for (int i = 0; i < enDisco; i++) {
+            desplazamientos[posicionIndice(i)] -= inicioVigente;
+        }
+        finArchivo -= inicioVigente;
+        archivo.setLength(finArchivo);
+    }
+    
+    /**
+     * Duplica el anillo de desplazamientos (sin pasar del límite de disco)
+     * dejando el registro más antiguo en la posición 0
+     */
+    private void crecerIndice() {
+        long[] nuevos = new long[Math.min(desplazamientos.length * 2, limiteDisco)];
+        for (int i = 0; i < enDisco; i++) {
+            nuevos[i] = desplazamientos[posicionIndice(i)];
+        }
+        desplazamientos = nuevos;
+        primero = 0;
+    }
+    
+    /**
+     * Posición en el anillo del registro número 'registro' (0 = el más antiguo)
+     */
+    private int posicionIndice(int registro) {
+        return (primero + registro) % desplazamientos.length;
+    }
+    
+    /**
+     * Quita la referencia de una posición, salvo que una instantánea la vea
+     */
+    private void liberar(int posicion) {
+        if (!compartida.contiene(posicion, recientes.length)) {
+            recientes[posicion] = null;
+        }
+    }
+    
+    /**
+     * Lee el registro número 'registro' del archivo (0 = el más antiguo)
+     */
+    private T leerRegistro(int registro) {
+        long inicio = desplazamientos[posicionIndice(registro)];
+        long fin = registro + 1 < enDisco ? desplazamientos[posicionIndice(registro + 1)] : finArchivo;
+        byte[] bytes = new byte[(int) (fin - inicio)];
+        
+        try {
+            archivo.seek(inicio);
+            archivo.readFully(bytes);
+            return serializador.leer(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el historial", e);
+        }
+    }
+    
+    /**
+     * Interfaz para escribir y leer elementos en el archivo de desborde
+     */
+    public interface Serializador<T> {
+        void escribir(T dato, DataOutput salida) throws IOException;
+        T leer(DataInput entrada) throws IOException;
+    }
+}
@@ -0,0 +1,102 @@
+package org.upemor.reproductor.estructuras;
+
+/**
+ * Pool de nodos reutilizables (lista de libres acotada)
+ * Las estructuras enlazadas piden aquí sus nodos en lugar de crearlos y
+ * devuelven los que ya no usan, así una cola que entra y sale
+ * constantemente deja de generar basura para el recolector.
+ *
+ * Los nodos libres se encadenan por su enlace 'siguiente' y se les borra
+ * el dato y los enlaces al devolverlos para no retener objetos.
+ * Si el pool está lleno, el nodo devuelto simplemente se descarta.
+ *
+ * No es seguro entre hilos: usar un pool por estructura (o por hilo)
+ * @param <T> Tipo de dato de los nodos
+ * @author Sistema de Estructuras de Datos
+ */
+public class PoolNodos<T> {
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+    
+    private final int capacidad;
+    private Nodo<T> libres;
+    private int disponibles;
+    
+    public PoolNodos() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+    
+    public PoolNodos(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("Capacidad inválida: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        this.libres = null;
+        this.disponibles = 0;
+    }
+    
+    /**
+     * Entrega un nodo con el dato indicado y sin enlaces
+     * Reutiliza uno libre si hay; si no, crea uno nuevo
+     */
+    public Nodo<T> obtener(T dato) {
+        if (libres == null) {
+            return new Nodo<>(dato);
+        }
+        
+        Nodo<T> nodo = libres;
+        libres = nodo.getSiguiente();
+        disponibles--;
+        
+        nodo.setSiguiente(null);
+        nodo.setDato(dato);
+        return nodo;
+    }
+    
+    /**
+     * Devuelve un nodo que ya no forma parte de ninguna estructura
+     * @return true si se guardó para reutilizarlo
+     */
+    public boolean liberar(Nodo<T> nodo) {
+        nodo.setDato(null);
+        nodo.setAnterior(null);
+        
+        if (disponibles >= capacidad) {
+            nodo.setSiguiente(null);
+            return false;
+        }
+        
+        nodo.setSiguiente(libres);
+        libres = nodo;
+        disponibles++;
+        return true;
+    }
+    
+    /**
+     * Verifica si el pool ya no acepta más nodos
+     */
+    public boolean estaLleno() {
+        return disponibles >= capacidad;
+    }
+    
+    /**
+     * Cantidad de nodos libres guardados
+     */
+    public int disponibles() {
+        return disponibles;
+    }
+    
+    /**
+     * Cantidad máxima de nodos libres que se guardan
+     */
+    public int capacidad() {
+        return capacidad;
+    }
+    
+    /**
+     * Descarta todos los nodos libres
+     */
+    public void vaciar() {
+        libres = null;
+        disponibles = 0;
+    }
+}
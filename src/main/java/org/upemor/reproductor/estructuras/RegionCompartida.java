@@ -0,0 +1,150 @@
+package org.upemor.reproductor.estructuras;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Rango circular de un arreglo que alguna Instantanea todavía ve
+ * Las estructuras con copy-on-write la consultan antes de escribir:
+ * si la posición está protegida, primero copian el arreglo.
+ *
+ * Recuerda cada instantánea con una referencia débil. Cuando todas se
+ * soltaron (Instantanea.soltar()) o el recolector ya las descartó, la
+ * protección se retira y la estructura vuelve a escribir y a liberar
+ * posiciones sin copiar. Solo la usa el hilo dueño de la estructura.
+ * @author Sistema de Estructuras de Datos
+ */
+class RegionCompartida {
+    private static final int CAPACIDAD_INICIAL = 4;
+    
+    private boolean activa;
+    private int inicio;
+    private int cantidad;
+    private int longitud;
+    
+    // Instantáneas que ven el arreglo actual y el rango de cada una
+    private WeakReference<Instantanea<?>>[] vistas = nuevasVistas(CAPACIDAD_INICIAL);
+    private int[] inicios = new int[CAPACIDAD_INICIAL];
+    private int[] cantidades = new int[CAPACIDAD_INICIAL];
+    private int registradas;
+    
+    /**
+     * Protege [inicio, inicio + cantidad) (circular sobre 'longitud') mientras
+     * la instantánea siga en uso
+     * Si ya había un rango protegido, se conserva la unión de ambos
+     */
+    void proteger(Instantanea<?> vista, int inicio, int cantidad, int longitud) {
+        depurar();
+        if (registradas == vistas.length) {
+            crecer();
+        }
+        vistas[registradas] = new WeakReference<>(vista);
+        inicios[registradas] = inicio;
+        cantidades[registradas] = cantidad;
+        registradas++;
+        extender(inicio, cantidad, longitud);
+    }
+    
+    /**
+     * Indica si escribir en la posición afectaría a una instantánea
+     */
+    boolean contiene(int posicion, int longitud) {
+        if (!dentro(posicion, longitud)) {
+            return false;
+        }
+        // Está en el rango: confirmar que alguna instantánea que la ve siga en uso
+        return !depurar() || dentro(posicion, longitud);
+    }
+    
+    boolean estaActiva() {
+        if (activa) {
+            depurar();
+        }
+        return activa;
+    }
+    
+    /**
+     * El arreglo dejó de compartirse (se copió o se reemplazó)
+     */
+    void soltar() {
+        activa = false;
+        inicio = 0;
+        cantidad = 0;
+        for (int i = 0; i < registradas; i++) {
+            vistas[i] = null;
+        }
+        registradas = 0;
+    }
+    
+    private boolean dentro(int posicion, int longitud) {
+        return activa && Math.floorMod(posicion - inicio, longitud) < cantidad;
+    }
+    
+    /**
+     * Extiende el rango protegido desde el inicio actual hasta cubrir también el nuevo
+     */
+    private void extender(int inicio, int cantidad, int longitud) {
+        if (!activa) {
+            this.activa = true;
+            this.inicio = inicio;
+            this.cantidad = cantidad;
+            this.longitud = longitud;
+            return;
+        }
+        int alcance = Math.floorMod(inicio - this.inicio, longitud) + cantidad;
+        this.cantidad = Math.min(longitud, Math.max(this.cantidad, alcance));
+    }
+    
+    /**
+     * Quita las instantáneas soltadas o recolectadas y, si quitó alguna,
+     * recalcula el rango con las que quedan (sin ninguna, la región se suelta)
+     * @return true si el rango cambió
+     */
+    private boolean depurar() {
+        int vigentes = 0;
+        for (int i = 0; i < registradas; i++) {
+            Instantanea<?> vista = vistas[i].get();
+            if (vista != null && !vista.estaSoltada()) {
+                vistas[vigentes] = vistas[i];
+                inicios[vigentes] = inicios[i];
+                cantidades[vigentes] = cantidades[i];
+                vigentes++;
+            }
+        }
+        if (vigentes == registradas) {
+            return false;
+        }
+        for (int i = vigentes; i < registradas; i++) {
+            vistas[i] = null;
+        }
+        registradas = vigentes;
+        
+        activa = false;
+        for (int i = 0; i < registradas; i++) {
+            extender(inicios[i], cantidades[i], longitud);
+        }
+        if (!activa) {
+            inicio = 0;
+            cantidad = 0;
+        }
+        return true;
+    }
+    
+    private void crecer() {
+        WeakReference<Instantanea<?>>[] nuevas = nuevasVistas(vistas.length * 2);
+        System.arraycopy(vistas, 0, nuevas, 0, registradas);
+        vistas = nuevas;
+        
+        int[] nuevosInicios = new int[inicios.length * 2];
+        System.arraycopy(inicios, 0, nuevosInicios, 0, registradas);
+        inicios = nuevosInicios;
+        
+        int[] nuevasCantidades = new int[cantidades.length * 2];
+        System.arraycopy(cantidades, 0, nuevasCantidades, 0, registradas);
+        cantidades = nuevasCantidades;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static WeakReference<Instantanea<?>>[] nuevasVistas(int capacidad) {
+        return (WeakReference<Instantanea<?>>[]) new WeakReference<?>[capacidad];
+    }
+}
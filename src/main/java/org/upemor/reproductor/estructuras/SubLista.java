@@ -0,0 +1,100 @@
+package org.upemor.reproductor.estructuras;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Vista de solo lectura sobre un tramo consecutivo de una MiLista
+ * No copia elementos: guarda el primer y último nodo del tramo y su tamaño.
+ * Deja de ser válida si la lista original se modifica.
+ * @param <T> Tipo de dato de la lista
+ * @author Sistema de Estructuras de Datos
+ */
+public class SubLista<T> implements Iterable<T> {
+    private final Nodo<T> primero;
+    private final Nodo<T> ultimo;
+    private final int tamanio;
+    
+    SubLista(Nodo<T> primero, Nodo<T> ultimo, int tamanio) {
+        this.primero = primero;
+        this.ultimo = ultimo;
+        this.tamanio = tamanio;
+    }
+    
+    /**
+     * Obtiene un elemento por su índice dentro de la vista
+     * Recorre desde el extremo más cercano del tramo
+     */
+    public T obtener(int indice) {
+        if (indice < 0 || indice >= tamanio) {
+            return null;
+        }
+        
+        Nodo<T> actual;
+        if (indice < tamanio / 2) {
+            actual = primero;
+            for (int i = 0; i < indice; i++) {
+                actual = actual.getSiguiente();
+            }
+        } else {
+            actual = ultimo;
+            for (int i = tamanio - 1; i > indice; i--) {
+                actual = actual.getAnterior();
+            }
+        }
+        return actual.getDato();
+    }
+    
+    /**
+     * Obtiene el tamaño de la vista
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    /**
+     * Verifica si la vista está vacía
+     */
+    public boolean estaVacia() {
+        return tamanio == 0;
+    }
+    
+    /**
+     * Recorre la vista y ejecuta una acción para cada elemento
+     */
+    public void recorrer(MiLista.AccionLista<T> accion) {
+        Nodo<T> actual = primero;
+        for (int i = 0; i < tamanio; i++) {
+            accion.ejecutar(actual.getDato(), i);
+            actual = actual.getSiguiente();
+        }
+    }
+    
+    /**
+     * Copia los elementos de la vista a una lista nueva
+     */
+    public MiLista<T> aLista() {
+        MiLista<T> lista = new MiListaIndexada<>();
+        lista.agregarTodos(this);
+        return lista;
+    }
+    
+    @Override
+    public Iterator<T> iterator() {
+        return new IteradorNodos<>(primero, tamanio);
+    }
+    
+    @Override
+    public Spliterator<T> spliterator() {
+        return new EspliteradorNodos<>(primero, tamanio);
+    }
+    
+    /**
+     * Stream secuencial sobre los elementos
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+}
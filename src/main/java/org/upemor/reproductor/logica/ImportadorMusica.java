@@ -0,0 +1,399 @@
+package org.upemor.reproductor.logica;
+
+import org.upemor.reproductor.controller.CancionController;
+import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiMapa;
+import org.upemor.reproductor.model.entity.Cancion;
+import org.upemor.reproductor.model.repository.ResultadoLote;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioSystem;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importa a la biblioteca todos los MP3 de una carpeta y sus subcarpetas
+ *
+ * Funciona como una tubería de tres etapas:
+ * 1. El hilo que llama a importar() recorre el árbol de carpetas con
+ *    Files.walkFileTree y entrega cada MP3 a un grupo acotado de hilos.
+ * 2. Cada hilo lee las etiquetas ID3 y la duración real con mp3spi
+ *    (AudioSystem.getAudioFileFormat) y deja la Cancion en una cola acotada.
+ * 3. Un hilo escritor saca las canciones de la cola y las inserta en lotes
+ *    con CancionController.crearLote (una transacción por lote).
+ *
+ * Las colas acotadas frenan a la etapa rápida cuando la siguiente se atrasa,
+ * así la memoria no crece con el tamaño de la biblioteca. Los archivos que
+ * ya están en la biblioteca (misma ruta) se omiten.
+ *
+ * Cada instancia sirve para una sola importación.
+ * @author Sistema Reproductor
+ */
+public class ImportadorMusica {
+    private static final int TAMANIO_LOTE = 500;
+    private static final int CAPACIDAD_COLA = 2 * TAMANIO_LOTE;
+    private static final int ARCHIVOS_EN_ESPERA = 256;
+    private static final int AVISAR_CADA = 100; // Archivos leídos entre avisos de progreso
+    private static final String ARTISTA_DESCONOCIDO = "Desconocido";
+    // Marca de fin para el escritor (no es una canción real)
+    private static final Cancion FIN = new Cancion();
+    
+    private final CancionController controller;
+    private final int hilos;
+    private ImportadorListener listener;
+    private volatile boolean cancelado;
+    
+    private final AtomicInteger encontrados = new AtomicInteger();
+    private final AtomicInteger leidos = new AtomicInteger();
+    private final AtomicInteger omitidos = new AtomicInteger();
+    private final AtomicInteger importados = new AtomicInteger();
+    private final AtomicInteger fallidos = new AtomicInteger();
+    private final MiLista<String> errores = new MiLista<>(); // Protegida por sí misma
+    
+    /**
+     * Interfaz para escuchar el avance de la importación
+     * Se llama desde los hilos del importador, no desde el de Swing
+     */
+    public interface ImportadorListener {
+        void onProgreso(int encontrados, int leidos, int importados, int errores);
+    }
+    
+    public ImportadorMusica(CancionController controller) {
+        this(controller, Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+    
+    /**
+     * @param hilos cantidad de hilos que leen metadatos al mismo tiempo
+     */
+    public ImportadorMusica(CancionController controller, int hilos) {
+        if (hilos <= 0) {
+            throw new IllegalArgumentException("La cantidad de hilos debe ser mayor que cero");
+        }
+        this.controller = controller;
+        this.hilos = hilos;
+    }
+    
+    public void setListener(ImportadorListener listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * Pide detener la importación; las canciones ya insertadas se conservan
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+    
+    public boolean isCancelado() {
+        return cancelado;
+    }
+    
+    /**
+     * Importa todos los MP3 dentro de la carpeta (bloquea hasta terminar)
+     * Debe llamarse fuera del hilo de Swing, por ejemplo desde un SwingWorker
+     * @return resumen con los contadores y los errores por archivo
+     */
+    public Resumen importar(Path carpeta) throws Exception {
+        if (carpeta == null || !Files.isDirectory(carpeta)) {
+            throw new Exception("La ruta no es una carpeta: " + carpeta);
+        }
+        
+        MiMapa<String, Boolean> existentes = rutasExistentes();
+        BlockingQueue<Cancion> leidas = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+        
+        // Si los lectores se atrasan, el hilo que recorre las carpetas lee él mismo el archivo
+        ThreadPoolExecutor lectores = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(ARCHIVOS_EN_ESPERA), new ThreadPoolExecutor.CallerRunsPolicy());
+        
+        Escritor escritor = new Escritor(leidas);
+        Thread hiloEscritor = new Thread(escritor, "importador-escritor");
+        hiloEscritor.setDaemon(true);
+        hiloEscritor.start();
+        
+        try {
+            Files.walkFileTree(carpeta, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path archivo, BasicFileAttributes atributos) {
+                    if (cancelado) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                    if (!atributos.isRegularFile() || !esMp3(archivo)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    
+                    encontrados.incrementAndGet();
+                    String ruta = archivo.toAbsolutePath().toString();
+                    if (existentes.contiene(ruta)) {
+                        omitidos.incrementAndGet();
+                        return FileVisitResult.CONTINUE;
+                    }
+                    lectores.execute(() -> leer(archivo, ruta, leidas));
+                    return FileVisitResult.CONTINUE;
+                }
+                
+                @Override
+                public FileVisitResult visitFileFailed(Path archivo, IOException e) {
+                    registrarError(archivo + ": " + e.getMessage());
+                    return cancelado ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+                }
+            });
+        } finally {
+            lectores.shutdown();
+            while (!lectores.awaitTermination(1, TimeUnit.SECONDS)) {
+                // Esperar a que los lectores entreguen lo que ya leyeron
+            }
+            leidas.put(FIN);
+            hiloEscritor.join();
+        }
+        
+        if (escritor.error != null) {
+            throw escritor.error;
+        }
+        notificarProgreso();
+        return new Resumen(encontrados.get(), omitidos.get(), importados.get(), fallidos.get(),
+                           errores, cancelado);
+    }
+    
+    // ==================== Etapas ====================
+    
+    /**
+     * Lee los metadatos de un archivo y deja la canción en la cola
+     */
+    private void leer(Path archivo, String ruta, BlockingQueue<Cancion> leidas) {
+        if (cancelado) {
+            return;
+        }
+        boolean contado = false;
+        try {
+            Cancion cancion = leerMetadatos(archivo, ruta);
+            contarLeido();
+            contado = true;
+            leidas.put(cancion);
+        } catch (InterruptedException e) {
+            // Contarlo como fallido para que el resumen cuadre con los encontrados
+            if (!contado) {
+                contarLeido();
+            }
+            registrarError(ruta + ": interrumpido");
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            contarLeido();
+            registrarError(ruta + ": " + e.getMessage());
+        }
+    }
+    
+    private void contarLeido() {
+        if (leidos.incrementAndGet() % AVISAR_CADA == 0) {
+            notificarProgreso();
+        }
+    }
+    
+    /**
+     * Saca canciones de la cola y las inserta en lotes de TAMANIO_LOTE
+     */
+    private class Escritor implements Runnable {
+        private final BlockingQueue<Cancion> leidas;
+        private volatile Exception error;
+        
+        Escritor(BlockingQueue<Cancion> leidas) {
+            this.leidas = leidas;
+        }
+        
+        @Override
+        public void run() {
+            MiLista<Cancion> lote = new MiLista<>();
+            try {
+                while (true) {
+                    Cancion cancion = leidas.take();
+                    if (cancion == FIN) {
+                        break;
+                    }
+                    if (cancelado) {
+                        continue; // Vaciar la cola para que los lectores no se queden bloqueados
+                    }
+                    lote.agregar(cancion);
+                    if (lote.tamanio() == TAMANIO_LOTE) {
+                        insertar(lote);
+                    }
+                }
+                if (!cancelado && !lote.estaVacia()) {
+                    insertar(lote);
+                }
+            } catch (Exception e) {
+                error = e;
+                cancelado = true;
+                // Seguir vaciando hasta FIN para no bloquear a los lectores
+                try {
+                    while (leidas.take() != FIN) {
+                        // Descartar
+                    }
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        
+        private void insertar(MiLista<Cancion> lote) throws Exception {
+            ResultadoLote resultado = controller.crearLote(lote, TAMANIO_LOTE);
+            importados.addAndGet(resultado.getCreadas());
+            for (ResultadoLote.ErrorFila errorFila : resultado.getErrores()) {
+                registrarError(errorFila.getCancion().getRutaArchivo() + ": " + errorFila.getMensaje());
+            }
+            lote.limpiar();
+            notificarProgreso();
+        }
+    }
+    
+    // ==================== Metadatos ====================
+    
+    /**
+     * Crea la canción con las etiquetas ID3 (title, author, album) y la
+     * duración que reporta mp3spi; sin título se usa el nombre del archivo
+     */
+    private static Cancion leerMetadatos(Path archivo, String ruta) throws Exception {
+        AudioFileFormat formato = AudioSystem.getAudioFileFormat(archivo.toFile());
+        Map<String, Object> propiedades = formato.properties();
+        
+        String titulo = etiqueta(propiedades, "title");
+        if (titulo == null) {
+            String nombre = archivo.getFileName().toString();
+            titulo = nombre.substring(0, nombre.length() - ".mp3".length());
+        }
+        String artista = etiqueta(propiedades, "author");
+        if (artista == null) {
+            artista = ARTISTA_DESCONOCIDO;
+        }
+        
+        int duracion = duracionEnSegundos(formato, propiedades);
+        if (duracion <= 0) {
+            throw new Exception("No se pudo determinar la duración");
+        }
+        return new Cancion(null, titulo, artista, etiqueta(propiedades, "album"), duracion, ruta);
+    }
+    
+    /**
+     * mp3spi reporta "duration" en microsegundos; si falta se calcula con
+     * los cuadros MPEG (cantidad de cuadros / cuadros por segundo)
+     */
+    private static int duracionEnSegundos(AudioFileFormat formato, Map<String, Object> propiedades) {
+        Object microsegundos = propiedades.get("duration");
+        if (microsegundos instanceof Long) {
+            return (int) Math.round((Long) microsegundos / 1_000_000.0);
+        }
+        
+        int cuadros = formato.getFrameLength();
+        float cuadrosPorSegundo = formato.getFormat().getFrameRate();
+        if (cuadros != AudioSystem.NOT_SPECIFIED && cuadrosPorSegundo > 0) {
+            return Math.round(cuadros / cuadrosPorSegundo);
+        }
+        return 0;
+    }
+    
+    /**
+     * Texto de una etiqueta sin los espacios y nulos de relleno de ID3v1
+     * @return null si no existe o está vacía
+     */
+    private static String etiqueta(Map<String, Object> propiedades, String nombre) {
+        Object valor = propiedades.get(nombre);
+        if (!(valor instanceof String)) {
+            return null;
+        }
+        String texto = ((String) valor).replace('\0', ' ').trim();
+        return texto.isEmpty() ? null : texto;
+    }
+    
+    private static boolean esMp3(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        return nombre.length() > 4 && nombre.regionMatches(true, nombre.length() - 4, ".mp3", 0, 4);
+    }
+    
+    // ==================== Apoyo ====================
+    
+    /**
+     * Rutas que ya están en la biblioteca, para no importarlas dos veces
+     * Se recorren sin cargar todas las canciones en memoria
+     */
+    private MiMapa<String, Boolean> rutasExistentes() throws Exception {
+        MiMapa<String, Boolean> rutas = new MiMapa<>();
+        controller.recorrerBusqueda(null, cancion -> {
+            if (cancion.getRutaArchivo() != null) {
+                rutas.poner(cancion.getRutaArchivo(), Boolean.TRUE);
+            }
+            return true;
+        });
+        return rutas;
+    }
+    
+    private void registrarError(String mensaje) {
+        fallidos.incrementAndGet();
+        synchronized (errores) {
+            errores.agregar(mensaje);
+        }
+    }
+    
+    private void notificarProgreso() {
+        if (listener != null) {
+            listener.onProgreso(encontrados.get(), leidos.get(), importados.get(), fallidos.get());
+        }
+    }
+    
+    /**
+     * Resultado de una importación
+     */
+    public static class Resumen {
+        private final int encontrados;
+        private final int omitidos;
+        private final int importados;
+        private final int fallidos;
+        private final MiLista<String> errores;
+        private final boolean cancelado;
+        
+        Resumen(int encontrados, int omitidos, int importados, int fallidos,
+                MiLista<String> errores, boolean cancelado) {
+            this.encontrados = encontrados;
+            this.omitidos = omitidos;
+            this.importados = importados;
+            this.fallidos = fallidos;
+            this.errores = errores;
+            this.cancelado = cancelado;
+        }
+        
+        /** Archivos MP3 encontrados en las carpetas */
+        public int getEncontrados() {
+            return encontrados;
+        }
+        
+        /** Archivos que ya estaban en la biblioteca */
+        public int getOmitidos() {
+            return omitidos;
+        }
+        
+        public int getImportados() {
+            return importados;
+        }
+        
+        /** Archivos que no se pudieron leer o insertar */
+        public int getFallidos() {
+            return fallidos;
+        }
+        
+        /** Un mensaje "ruta: causa" por cada archivo fallido */
+        public MiLista<String> getErrores() {
+            return errores;
+        }
+        
+        public boolean isCancelado() {
+            return cancelado;
+        }
+    }
+}
@@ -1,20 +1,58 @@
 package org.upemor.reproductor.logica;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
 import org.upemor.reproductor.model.entity.Cancion;
-import org.upemor.reproductor.estructuras.MiCola;
-import org.upemor.reproductor.estructuras.MiPila;
+import org.upemor.reproductor.estructuras.Instantanea;
+import org.upemor.reproductor.estructuras.MiBicola;
+import org.upemor.reproductor.estructuras.MiColaConcurrente;
+import org.upemor.reproductor.estructuras.MiColaPrioridad;
+import org.upemor.reproductor.estructuras.MiPilaAcotada;
 import org.upemor.reproductor.estructuras.MiLista;
 
 /**
  * Clase que gestiona la lógica del reproductor de música
- * Usa MiCola para cola de reproducción y MiPila para historial
+ * Usa MiBicola para cola de reproducción y MiPilaAcotada para historial.
+ * Las canciones con prioridad (por ejemplo "reproducir a continuación")
+ * van a una MiColaPrioridad que se atiende antes que la cola normal.
+ *
+ * Hilos: la cola se modifica desde Swing (botones), JavaFX (fin de canción)
+ * y el hilo de simulación. agregarACola() solo deja la canción en una
+ * MiColaConcurrente (sin bloqueos); las operaciones que leen la cola la
+ * pasan a colaReproduccion bajo un candado corto que nunca se mantiene
+ * mientras se llama al audio o a los listeners.
+ * El historial tiene su propio candado porque apilar puede escribir al
+ * disco; cuando se necesitan ambos se toma primero 'candadoHistorial'.
+ * Las canciones que terminan no se apilan en el momento: van a otra
+ * MiColaConcurrente (paraHistorial) y pasan al historial cuando la
+ * interfaz lo consulta o cambia de canción. Así el hilo de audio, que
+ * llama a reproducirSiguiente() al terminar cada canción, nunca espera
+ * al disco ni a un candado que la interfaz mantiene mientras lee el disco.
  * @author Sistema Reproductor
  */
 public class Reproductor implements ReproductorAudio.ReproductorListener {
-    private MiCola<Cancion> colaReproduccion;
-    private MiPila<Cancion> historial;
-    private Cancion cancionActual;
-    private boolean reproduciendo;
+    /** Canciones del historial que se conservan en memoria; las demás van a disco */
+    private static final int CAPACIDAD_HISTORIAL = 200;
+    
+    /** Prioridad de la cola normal (FIFO) */
+    public static final int PRIORIDAD_NORMAL = 0;
+    /** Prioridad de "reproducir a continuación": antes que cualquier otra */
+    public static final int PRIORIDAD_SIGUIENTE = Integer.MAX_VALUE;
+    
+    private final Object candado = new Object();
+    private final MiColaConcurrente<EntradaCola> entrantes; // Agregadas desde cualquier hilo
+    private MiBicola<Cancion> colaReproduccion;             // Protegida por 'candado'
+    private MiColaPrioridad<Cancion> colaPrioritaria;       // Protegida por 'candado'
+    private final Random aleatorio = new Random();          // Usado con 'candado' tomado
+    private final Object candadoHistorial = new Object();
+    private MiPilaAcotada<Cancion> historial;               // Protegida por 'candadoHistorial'
+    private final MiColaConcurrente<Cancion> paraHistorial = new MiColaConcurrente<>(); // Aún sin apilar
+    private final Path archivoHistorial;
+    private volatile Cancion cancionActual;
+    private volatile boolean reproduciendo;
     private ReproductorAudio reproductorAudio;
     private ReproductorListener listener;
     
@@ -27,8 +65,12 @@ public class Reproductor implements ReproductorAudio.ReproductorListener {
     }
     
     public Reproductor() {
-        this.colaReproduccion = new MiCola<>();
-        this.historial = new MiPila<>();
+        this.entrantes = new MiColaConcurrente<>();
+        this.colaReproduccion = new MiBicola<>();
+        this.colaPrioritaria = new MiColaPrioridad<>();
+        this.archivoHistorial = crearArchivoHistorial();
+        this.historial = new MiPilaAcotada<>(CAPACIDAD_HISTORIAL, archivoHistorial,
+            new SerializadorCancion());
         this.cancionActual = null;
         this.reproduciendo = false;
         this.reproductorAudio = new ReproductorAudio();
@@ -41,68 +83,116 @@ public class Reproductor implements ReproductorAudio.ReproductorListener {
     
     /**
      * Agrega una canción a la cola de reproducción
+     * Seguro desde cualquier hilo y sin bloqueos
      */
     public void agregarACola(Cancion cancion) {
-        colaReproduccion.encolar(cancion);
-        System.out.println("✓ Canción agregada a la cola: " + cancion.getTitulo());
+        agregarACola(cancion, PRIORIDAD_NORMAL);
+    }
+    
+    /**
+     * Agrega una canción con prioridad: mientras mayor, antes se reproduce;
+     * con la misma prioridad se respeta el orden de llegada.
+     * Prioridades menores o iguales a PRIORIDAD_NORMAL van a la cola normal.
+     * Seguro desde cualquier hilo y sin bloqueos; insertar cuesta O(log n)
+     */
+    public void agregarACola(Cancion cancion, int prioridad) {
+        entrantes.encolar(new EntradaCola(cancion, prioridad));
+        System.out.println("✓ Canción agregada a la cola: " + cancion.getTitulo()
+            + (prioridad > PRIORIDAD_NORMAL ? " (prioridad " + prioridad + ")" : ""));
+    }
+    
+    /**
+     * Agrega varias canciones al final de la cola en una sola operación
+     * Toma el candado una vez en lugar de pasar canción por canción por
+     * la cola concurrente
+     * @return Cantidad de canciones agregadas
+     */
+    public int agregarTodasACola(Iterable<Cancion> canciones) {
+        int agregadas = 0;
+        synchronized (candado) {
+            drenarEntrantes(); // Conservar el orden de las que ya esperaban
+            for (Cancion cancion : canciones) {
+                colaReproduccion.encolar(cancion);
+                agregadas++;
+            }
+        }
+        System.out.println("✓ " + agregadas + " canciones agregadas a la cola");
+        return agregadas;
     }
     
     /**
      * Reproduce la siguiente canción de la cola
      */
     public Cancion reproducirSiguiente() {
-        // Si hay canción actual, agregarla al historial
-        if (cancionActual != null) {
-            historial.apilar(cancionActual);
+        Cancion siguiente;
+        Cancion terminada;
+        synchronized (candado) {
+            drenarEntrantes();
+            terminada = cancionActual;
+            
+            // Obtener siguiente canción: primero las prioritarias
+            siguiente = colaPrioritaria.estaVacia()
+                ? colaReproduccion.desencolar()
+                : colaPrioritaria.desencolar();
+            cancionActual = siguiente;
         }
         
-        // Obtener siguiente canción de la cola
-        cancionActual = colaReproduccion.desencolar();
+        // Si había canción actual, mandarla al historial sin esperar al disco
+        if (terminada != null) {
+            paraHistorial.encolar(terminada);
+        }
         
-        if (cancionActual != null) {
+        if (siguiente != null) {
             reproduciendo = true;
             // Reproducir audio real
-            reproductorAudio.reproducir(cancionActual);
-            System.out.println("▶️ Reproduciendo: " + cancionActual.getTitulo() + " - " + cancionActual.getArtista());
-            notificarCancionCambiada(cancionActual);
+            reproductorAudio.reproducir(siguiente);
+            System.out.println("▶️ Reproduciendo: " + siguiente.getTitulo() + " - " + siguiente.getArtista());
+            notificarCancionCambiada(siguiente);
         } else {
             reproduciendo = false;
             reproductorAudio.detener();
             System.out.println("⏹️ No hay más canciones en la cola");
         }
         
-        return cancionActual;
+        return siguiente;
     }
     
     /**
      * Reproduce la canción anterior del historial
      */
     public Cancion reproducirAnterior() {
-        Cancion anterior = historial.desapilar();
-        
-        if (anterior != null) {
-            // Si hay canción actual, regresarla a la cola
-            if (cancionActual != null) {
-                // Crear nueva cola temporal
-                MiCola<Cancion> nuevaCola = new MiCola<>();
-                nuevaCola.encolar(cancionActual);
-                
-                // Agregar el resto de canciones
-                while (!colaReproduccion.estaVacia()) {
-                    nuevaCola.encolar(colaReproduccion.desencolar());
+        Cancion anterior;
+        synchronized (candadoHistorial) {
+            archivarPendientes();
+            anterior = historial.desapilar();
+            
+            if (anterior != null) {
+                synchronized (candado) {
+                    drenarEntrantes();
+                    
+                    // Si hay canción actual, regresarla para que sea la siguiente
+                    if (cancionActual != null) {
+                        if (colaPrioritaria.estaVacia()) {
+                            colaReproduccion.encolarFrente(cancionActual); // O(1)
+                        } else {
+                            // Delante de las prioritarias pendientes: O(log n)
+                            colaPrioritaria.encolarPrimero(cancionActual,
+                                colaPrioritaria.prioridadFrente());
+                        }
+                    }
+                    cancionActual = anterior;
                 }
-                
-                colaReproduccion = nuevaCola;
             }
-            
-            cancionActual = anterior;
+        }
+        
+        if (anterior != null) {
             reproduciendo = true;
             
             // REPRODUCIR REALMENTE LA CANCIÓN ANTERIOR
-            reproductorAudio.reproducir(cancionActual);
+            reproductorAudio.reproducir(anterior);
             
-            System.out.println("⏮️ Reproduciendo anterior: " + cancionActual.getTitulo());
-            notificarCancionCambiada(cancionActual);
+            System.out.println("⏮️ Reproduciendo anterior: " + anterior.getTitulo());
+            notificarCancionCambiada(anterior);
         } else {
             System.out.println("⏹️ No hay canciones en el historial");
         }
@@ -114,11 +204,15 @@ public class Reproductor implements ReproductorAudio.ReproductorListener {
      * Reproduce una canción específica
      */
     public void reproducir(Cancion cancion) {
-        if (cancionActual != null) {
-            historial.apilar(cancionActual);
+        Cancion anterior;
+        synchronized (candado) {
+            anterior = cancionActual;
+            cancionActual = cancion;
+        }
+        if (anterior != null) {
+            paraHistorial.encolar(anterior);
         }
         
-        cancionActual = cancion;
         reproduciendo = true;
         reproductorAudio.reproducir(cancion);
         System.out.println("▶️ Reproduciendo: " + cancion.getTitulo());
@@ -148,14 +242,20 @@ public class Reproductor implements ReproductorAudio.ReproductorListener {
      */
     public void detener() {
         // Si hay canción actual, agregarla al historial antes de detener
-        if (cancionActual != null) {
-            historial.apilar(cancionActual);
-            System.out.println("📜 Canción agregada al historial: " + cancionActual.getTitulo());
+        Cancion detenida;
+        synchronized (candado) {
+            detenida = cancionActual;
+            cancionActual = null;
+        }
+        if (detenida != null) {
+            paraHistorial.encolar(detenida);
+        }
+        if (detenida != null) {
+            System.out.println("📜 Canción agregada al historial: " + detenida.getTitulo());
         }
         
         reproduciendo = false;
         reproductorAudio.detener();
-        cancionActual = null;
         System.out.println("⏹️ Reproducción detenida");
         notificarEstadoCambiado(false);
     }
@@ -164,15 +264,56 @@ public class Reproductor implements ReproductorAudio.ReproductorListener {
      * Limpia la cola de reproducción
      */
     public void limpiarCola() {
-        colaReproduccion.limpiar();
+        synchronized (candado) {
+            entrantes.limpiar();
+            colaReproduccion.limpiar();
+            colaPrioritaria.limpiar();
+        }
         System.out.println("🗑️ Cola de reproducción limpiada");
     }
     
+    /**
+     * Mezcla la cola normal en su lugar (Fisher–Yates, O(n))
+     * Las canciones con prioridad conservan su orden
+     */
+    public void mezclarCola() {
+        synchronized (candado) {
+            drenarEntrantes();
+            colaReproduccion.mezclar(aleatorio);
+        }
+        System.out.println("🔀 Cola mezclada");
+    }
+    
+    /**
+     * Mezcla la cola normal evitando que un artista se repita dentro
+     * de las siguientes 'ventana' canciones (mezcla inteligente, O(n))
+     */
+    public void mezclarColaSinRepetirArtista(int ventana) {
+        synchronized (candado) {
+            drenarEntrantes();
+            colaReproduccion.mezclarSinRepetir(aleatorio, ventana, Reproductor::claveArtista);
+        }
+        System.out.println("🔀 Cola mezclada sin repetir artista en " + ventana + " canciones");
+    }
+    
+    /**
+     * Artista sin distinguir mayúsculas, para comparar en la mezcla inteligente
+     */
+    private static Object claveArtista(Cancion cancion) {
+        String artista = cancion.getArtista();
+        return artista != null ? artista.toLowerCase(Locale.ROOT) : null;
+    }
+    
     /**
      * Limpia el historial
      */
     public void limpiarHistorial() {
-        historial.limpiar();
+        synchronized (candadoHistorial) {
+            while (paraHistorial.desencolar() != null) {
+                // Las pendientes también se descartan
+            }
+            historial.limpiar();
+        }
         System.out.println("🗑️ Historial limpiado");
     }
     
@@ -185,20 +326,103 @@ public class Reproductor implements ReproductorAudio.ReproductorListener {
         return reproduciendo;
     }
     
-    public MiLista<Cancion> obtenerCola() {
-        return colaReproduccion.aLista();
+    /**
+     * Canciones con prioridad en el orden en que se reproducirán
+     * (van antes que las de obtenerCola()). El orden se calcula una vez por
+     * cambio de la cola: mientras no cambie se devuelve la misma vista
+     */
+    public Instantanea<Cancion> obtenerColaPrioritaria() {
+        synchronized (candado) {
+            drenarEntrantes();
+            return colaPrioritaria.instantanea();
+        }
+    }
+    
+    /**
+     * Vista inmutable de la cola normal en O(1) (comparte el arreglo, no copia)
+     */
+    public Instantanea<Cancion> obtenerCola() {
+        synchronized (candado) {
+            drenarEntrantes();
+            return colaReproduccion.instantanea();
+        }
     }
     
-    public MiLista<Cancion> obtenerHistorial() {
-        return historial.aLista();
+    /**
+     * Vista inmutable en O(1) de las canciones del historial que están en
+     * memoria (las más recientes primero); las más antiguas se leen con
+     * obtenerHistorial(pagina, tamanioPagina)
+     */
+    public Instantanea<Cancion> obtenerHistorial() {
+        synchronized (candadoHistorial) {
+            archivarPendientes();
+            return historial.instantaneaRecientes();
+        }
+    }
+    
+    /**
+     * Obtiene una página del historial (la más reciente primero)
+     * Solo lee del disco las canciones de esa página
+     */
+    public MiLista<Cancion> obtenerHistorial(int pagina, int tamanioPagina) {
+        synchronized (candadoHistorial) {
+            archivarPendientes();
+            return historial.obtenerPagina(pagina, tamanioPagina);
+        }
     }
     
     public int getTamanoCola() {
-        return colaReproduccion.tamanio();
+        synchronized (candado) {
+            drenarEntrantes();
+            return colaPrioritaria.tamanio() + colaReproduccion.tamanio();
+        }
     }
     
     public int getTamanoHistorial() {
-        return historial.tamanio();
+        synchronized (candadoHistorial) {
+            archivarPendientes();
+            return historial.tamanio();
+        }
+    }
+    
+    /**
+     * Apila en el historial las canciones terminadas que esperan en
+     * paraHistorial, en el orden en que terminaron
+     * Debe llamarse con 'candadoHistorial' tomado y nunca desde el hilo de audio
+     */
+    private void archivarPendientes() {
+        Cancion cancion;
+        while ((cancion = paraHistorial.desencolar()) != null) {
+            historial.apilar(cancion);
+        }
+    }
+    
+    /**
+     * Pasa a la cola de reproducción lo que otros hilos agregaron
+     * Debe llamarse con 'candado' tomado
+     */
+    private void drenarEntrantes() {
+        EntradaCola entrada;
+        while ((entrada = entrantes.desencolar()) != null) {
+            if (entrada.prioridad > PRIORIDAD_NORMAL) {
+                colaPrioritaria.encolar(entrada.cancion, entrada.prioridad);
+            } else {
+                colaReproduccion.encolar(entrada.cancion);
+            }
+        }
+    }
+    
+    /**
+     * Canción pendiente de pasar a la cola, con su prioridad
+     */
+    private static final class EntradaCola {
+        private final Cancion cancion;
+        private final int prioridad;
+        
+        EntradaCola(Cancion cancion, int prioridad) {
+            this.cancion = cancion;
+            this.prioridad = prioridad;
+        }
     }
     
     // Implementación de ReproductorAudio.ReproductorListener
@@ -219,6 +443,32 @@ public class Reproductor implements ReproductorAudio.ReproductorListener {
         notificarEstadoCambiado(reproduciendo);
     }
     
+    /**
+     * Cierra el archivo del historial y lo borra
+     * Se llama al terminar la aplicación (gancho de apagado en Main): un
+     * archivo abierto no se puede borrar en Windows con deleteOnExit
+     */
+    public void cerrar() {
+        synchronized (candadoHistorial) {
+            historial.cerrar();
+        }
+        try {
+            Files.deleteIfExists(archivoHistorial);
+        } catch (IOException e) {
+            System.err.println("Error al borrar archivo de historial: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Archivo temporal donde se desborda el historial antiguo
+     */
+    private static Path crearArchivoHistorial() {
+        Path archivo = Path.of(System.getProperty("java.io.tmpdir"),
+            "reproductor-historial-" + ProcessHandle.current().pid() + ".dat");
+        archivo.toFile().deleteOnExit();
+        return archivo;
+    }
+    
     // Métodos de notificación
     private void notificarCancionCambiada(Cancion cancion) {
         if (listener != null) {
@@ -0,0 +1,54 @@
+package org.upemor.reproductor.logica;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.upemor.reproductor.estructuras.MiPilaAcotada;
+import org.upemor.reproductor.model.entity.Cancion;
+
+/**
+ * Escribe y lee canciones en el archivo de desborde del historial
+ * Se guardan todos los campos para no depender de la base de datos
+ * (la canción pudo haberse eliminado de la biblioteca)
+ * @author Sistema Reproductor
+ */
+public class SerializadorCancion implements MiPilaAcotada.Serializador<Cancion> {
+    
+    @Override
+    public void escribir(Cancion cancion, DataOutput salida) throws IOException {
+        salida.writeLong(cancion.getId() != null ? cancion.getId() : -1L);
+        salida.writeUTF(texto(cancion.getTitulo()));
+        salida.writeUTF(texto(cancion.getArtista()));
+        escribirOpcional(cancion.getAlbum(), salida);
+        salida.writeInt(cancion.getDuracion() != null ? cancion.getDuracion() : 0);
+        escribirOpcional(cancion.getRutaArchivo(), salida);
+    }
+    
+    @Override
+    public Cancion leer(DataInput entrada) throws IOException {
+        Cancion cancion = new Cancion();
+        long id = entrada.readLong();
+        cancion.setId(id >= 0 ? id : null);
+        cancion.setTitulo(entrada.readUTF());
+        cancion.setArtista(entrada.readUTF());
+        cancion.setAlbum(leerOpcional(entrada));
+        cancion.setDuracion(entrada.readInt());
+        cancion.setRutaArchivo(leerOpcional(entrada));
+        return cancion;
+    }
+    
+    private String texto(String valor) {
+        return valor != null ? valor : "";
+    }
+    
+    private void escribirOpcional(String valor, DataOutput salida) throws IOException {
+        salida.writeBoolean(valor != null);
+        if (valor != null) {
+            salida.writeUTF(valor);
+        }
+    }
+    
+    private String leerOpcional(DataInput entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+}
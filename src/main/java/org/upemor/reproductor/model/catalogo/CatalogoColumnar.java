@@ -0,0 +1,468 @@
+package org.upemor.reproductor.model.catalogo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.CollationKey;
+import java.util.Arrays;
+import org.upemor.reproductor.estructuras.DiccionarioCadenas;
+import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiListaIndexada;
+import org.upemor.reproductor.model.entity.Cancion;
+
+/**
+ * Catálogo de canciones por columnas fuera del heap (off-heap)
+ * Cada columna es un ByteBuffer directo: el recolector de basura no recorre
+ * su contenido, así que bibliotecas de millones de canciones caben con un
+ * heap pequeño y pausas de GC cortas.
+ *
+ * Columnas:
+ * - id (long) y duración (int)
+ * - artista y álbum como códigos (int) de un DiccionarioCadenas en el heap
+ *   (hay muchos menos artistas y álbumes que canciones)
+ * - título y ruta en UTF-8 dentro de un bloque de bytes, con columnas de
+ *   inicio y longitud por fila
+ *
+ * Filtros, búsquedas y ordenamientos trabajan sobre las columnas y devuelven
+ * números de fila (int[]); materializar() crea objetos Cancion solo para
+ * las filas que se van a mostrar.
+ * La memoria se libera cuando el catálogo deja de usarse y el GC lo recolecta.
+ *
+ * Límites: cada columna es un solo ByteBuffer, que admite hasta
+ * MAXIMO_BUFFER bytes; pasarlo (por filas o por texto acumulado) lanza
+ * IllegalStateException antes de escribir la fila. Además la JVM limita el
+ * total de buffers directos con -XX:MaxDirectMemorySize, que por omisión
+ * vale lo mismo que -Xmx: con un heap pequeño hay que subir esa opción
+ * para que quepan las columnas.
+ * @author Sistema Reproductor
+ */
+public class CatalogoColumnar {
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final int SIN_DURACION = Integer.MIN_VALUE;
+    private static final int MAXIMO_BUFFER = Integer.MAX_VALUE - 8;      // Bytes por columna
+    private static final int MAXIMO_FILAS = MAXIMO_BUFFER / Long.BYTES; // La columna de ids es la más ancha
+    
+    private final DiccionarioCadenas artistas = new DiccionarioCadenas();
+    private final DiccionarioCadenas albumes = new DiccionarioCadenas();
+    
+    private ByteBuffer ids;            // long por fila
+    private ByteBuffer duraciones;     // int por fila
+    private ByteBuffer codigosArtista; // int por fila
+    private ByteBuffer codigosAlbum;   // int por fila
+    private final ColumnaTexto titulos;
+    private final ColumnaTexto rutas;
+    private int tamanio;
+    private int capacidad;
+    private int[] rangoArtista;        // Posición alfabética de cada código (null = recalcular)
+    
+    public CatalogoColumnar() {
+        this(CAPACIDAD_INICIAL);
+    }
+    
+    /**
+     * Crea el catálogo reservando 'capacidad' filas (por ejemplo, COUNT(*))
+     */
+    public CatalogoColumnar(int capacidad) {
+        if (capacidad > MAXIMO_FILAS) {
+            throw new IllegalArgumentException("Capacidad inválida: " + capacidad
+                + " (máximo " + MAXIMO_FILAS + " filas)");
+        }
+        this.capacidad = Math.max(1, capacidad);
+        this.ids = directo((long) this.capacidad * Long.BYTES);
+        this.duraciones = directo((long) this.capacidad * Integer.BYTES);
+        this.codigosArtista = directo((long) this.capacidad * Integer.BYTES);
+        this.codigosAlbum = directo((long) this.capacidad * Integer.BYTES);
+        this.titulos = new ColumnaTexto(this.capacidad, 32);
+        this.rutas = new ColumnaTexto(this.capacidad, 64);
+        this.tamanio = 0;
+    }
+    
+    /**
+     * Agrega una fila sin crear ningún objeto Cancion
+     * @return El número de fila
+     */
+    public int agregar(long id, String titulo, String artista, String album,
+                       Integer duracion, String rutaArchivo) {
+        if (tamanio == capacidad) {
+            crecer();
+        }
+        // Reservar el espacio de los textos antes de escribir: si no cabe, la fila no queda a medias
+        byte[] bytesTitulo = utf8(titulo);
+        byte[] bytesRuta = utf8(rutaArchivo);
+        titulos.reservar(bytesTitulo);
+        rutas.reservar(bytesRuta);
+        
+        int fila = tamanio;
+        ids.putLong(fila * Long.BYTES, id);
+        duraciones.putInt(fila * Integer.BYTES, duracion != null ? duracion : SIN_DURACION);
+        codigosArtista.putInt(fila * Integer.BYTES, artistas.codificar(artista));
+        codigosAlbum.putInt(fila * Integer.BYTES, albumes.codificar(album));
+        titulos.agregar(bytesTitulo);
+        rutas.agregar(bytesRuta);
+        
+        tamanio++;
+        rangoArtista = null;
+        return fila;
+    }
+    
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    public boolean estaVacio() {
+        return tamanio == 0;
+    }
+    
+    /**
+     * Bytes reservados fuera del heap
+     */
+    public long bytesFueraDelHeap() {
+        return ids.capacity() + (long) duraciones.capacity()
+            + codigosArtista.capacity() + codigosAlbum.capacity()
+            + titulos.bytesReservados() + rutas.bytesReservados();
+    }
+    
+    // ==================== Acceso por fila ====================
+    
+    public long getId(int fila) {
+        return ids.getLong(fila * Long.BYTES);
+    }
+    
+    public Integer getDuracion(int fila) {
+        int duracion = duraciones.getInt(fila * Integer.BYTES);
+        return duracion == SIN_DURACION ? null : duracion;
+    }
+    
+    public String getTitulo(int fila) {
+        return titulos.obtener(fila);
+    }
+    
+    public String getArtista(int fila) {
+        return artistas.decodificar(codigosArtista.getInt(fila * Integer.BYTES));
+    }
+    
+    public String getAlbum(int fila) {
+        return albumes.decodificar(codigosAlbum.getInt(fila * Integer.BYTES));
+    }
+    
+    public String getRutaArchivo(int fila) {
+        return rutas.obtener(fila);
+    }
+    
+    /**
+     * Crea una Cancion con los datos de una fila
+     */
+    public Cancion aCancion(int fila) {
+        return new Cancion(getId(fila), getTitulo(fila), getArtista(fila),
+            getAlbum(fila), getDuracion(fila), getRutaArchivo(fila));
+    }
+    
+    /**
+     * Crea objetos Cancion solo para las filas indicadas, en ese orden
+     */
+    public MiLista<Cancion> materializar(int[] filas) {
+        return materializar(filas, 0, filas.length);
+    }
+    
+    /**
+     * Crea objetos Cancion solo para filas[desde, desde + cantidad)
+     * (una página del resultado de un filtro o una búsqueda)
+     */
+    public MiLista<Cancion> materializar(int[] filas, int desde, int cantidad) {
+        MiLista<Cancion> canciones = new MiListaIndexada<>();
+        int hasta = Math.min(filas.length, desde + cantidad);
+        for (int i = Math.max(0, desde); i < hasta; i++) {
+            canciones.agregar(aCancion(filas[i]));
+        }
+        return canciones;
+    }
+    
+    // ==================== Filtros ====================
+    
+    /**
+     * Filas cuyo artista es exactamente 'artista' (compara códigos enteros)
+     */
+    public int[] filtrarPorArtista(String artista) {
+        int codigo = artistas.buscar(artista);
+        if (codigo == DiccionarioCadenas.NULO) {
+            return new int[0];
+        }
+        
+        int[] filas = new int[tamanio];
+        int cantidad = 0;
+        for (int fila = 0; fila < tamanio; fila++) {
+            if (codigosArtista.getInt(fila * Integer.BYTES) == codigo) {
+                filas[cantidad++] = fila;
+            }
+        }
+        return Arrays.copyOf(filas, cantidad);
+    }
+    
+    /**
+     * Filas con duración en [minimo, maximo] segundos
+     */
+    public int[] filtrarPorDuracion(int minimo, int maximo) {
+        int[] filas = new int[tamanio];
+        int cantidad = 0;
+        for (int fila = 0; fila < tamanio; fila++) {
+            int duracion = duraciones.getInt(fila * Integer.BYTES);
+            if (duracion != SIN_DURACION && duracion >= minimo && duracion <= maximo) {
+                filas[cantidad++] = fila;
+            }
+        }
+        return Arrays.copyOf(filas, cantidad);
+    }
+    
+    /**
+     * Filas cuyo título, artista o álbum contiene 'texto', en orden de fila
+     * Igual que la búsqueda LIKE '%texto%' de respaldo del repositorio: sin
+     * distinguir mayúsculas en letras ASCII. Los títulos se comparan byte a
+     * byte en el bloque UTF-8, sin crear cadenas; artistas y álbumes se
+     * revisan una vez por código.
+     */
+    public int[] buscar(String texto) {
+        byte[] aguja = minusculasAscii(texto.getBytes(StandardCharsets.UTF_8));
+        boolean[] artistaCoincide = codigosQueContienen(artistas, aguja);
+        boolean[] albumCoincide = codigosQueContienen(albumes, aguja);
+        
+        int[] filas = new int[tamanio];
+        int cantidad = 0;
+        for (int fila = 0; fila < tamanio; fila++) {
+            if (coincideCodigo(codigosArtista, fila, artistaCoincide)
+                    || coincideCodigo(codigosAlbum, fila, albumCoincide)
+                    || titulos.contiene(fila, aguja)) {
+                filas[cantidad++] = fila;
+            }
+        }
+        return Arrays.copyOf(filas, cantidad);
+    }
+    
+    /**
+     * Marca los códigos del diccionario cuyo texto contiene 'aguja'
+     */
+    private static boolean[] codigosQueContienen(DiccionarioCadenas diccionario, byte[] aguja) {
+        boolean[] coincide = new boolean[diccionario.tamanio()];
+        for (int codigo = 0; codigo < coincide.length; codigo++) {
+            byte[] texto = diccionario.decodificar(codigo).getBytes(StandardCharsets.UTF_8);
+            coincide[codigo] = contiene(ByteBuffer.wrap(texto), 0, texto.length, aguja);
+        }
+        return coincide;
+    }
+    
+    private static boolean coincideCodigo(ByteBuffer codigos, int fila, boolean[] coincide) {
+        int codigo = codigos.getInt(fila * Integer.BYTES);
+        return codigo != DiccionarioCadenas.NULO && coincide[codigo];
+    }
+    
+    // ==================== Ordenamientos ====================
+    
+    /**
+     * Filas ordenadas por duración (estable: a igual duración, por fila)
+     * Ordena un long[] con (duración, fila) empaquetados: sin objetos
+     */
+    public int[] ordenarPorDuracion() {
+        long[] claves = new long[tamanio];
+        for (int fila = 0; fila < tamanio; fila++) {
+            claves[fila] = empaquetar(duraciones.getInt(fila * Integer.BYTES), fila);
+        }
+        return desempaquetar(claves);
+    }
+    
+    /**
+     * Filas ordenadas por artista en orden alfabético español
+     * Solo se ordenan los artistas distintos (con Collator); después cada
+     * fila se ordena por la posición de su artista, como un entero
+     */
+    public int[] ordenarPorArtista() {
+        int[] rangos = rangosArtista();
+        long[] claves = new long[tamanio];
+        for (int fila = 0; fila < tamanio; fila++) {
+            int codigo = codigosArtista.getInt(fila * Integer.BYTES);
+            claves[fila] = empaquetar(codigo == DiccionarioCadenas.NULO ? -1 : rangos[codigo], fila);
+        }
+        return desempaquetar(claves);
+    }
+    
+    private int[] rangosArtista() {
+        if (rangoArtista == null) {
+            CollationKey[] claves = new CollationKey[artistas.tamanio()];
+            for (int codigo = 0; codigo < claves.length; codigo++) {
+                claves[codigo] = Cancion.crearClave(artistas.decodificar(codigo));
+            }
+            Arrays.sort(claves);
+            
+            int[] rangos = new int[claves.length];
+            for (int i = 0; i < claves.length; i++) {
+                rangos[artistas.buscar(claves[i].getSourceString())] = i;
+            }
+            rangoArtista = rangos;
+        }
+        return rangoArtista;
+    }
+    
+    private static long empaquetar(int valor, int fila) {
+        return ((long) valor << 32) | (fila & 0xFFFFFFFFL);
+    }
+    
+    private static int[] desempaquetar(long[] claves) {
+        Arrays.sort(claves);
+        int[] filas = new int[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            filas[i] = (int) claves[i];
+        }
+        return filas;
+    }
+    
+    // ==================== Memoria ====================
+    
+    private void crecer() {
+        if (capacidad >= MAXIMO_FILAS) {
+            throw new IllegalStateException("El catálogo llegó al máximo de " + MAXIMO_FILAS + " filas");
+        }
+        int nueva = (int) Math.min((long) capacidad * 2, MAXIMO_FILAS);
+        ids = ampliar(ids, (long) nueva * Long.BYTES);
+        duraciones = ampliar(duraciones, (long) nueva * Integer.BYTES);
+        codigosArtista = ampliar(codigosArtista, (long) nueva * Integer.BYTES);
+        codigosAlbum = ampliar(codigosAlbum, (long) nueva * Integer.BYTES);
+        titulos.ampliarFilas(nueva);
+        rutas.ampliarFilas(nueva);
+        capacidad = nueva;
+    }
+    
+    /**
+     * Reserva un buffer directo; el tamaño se calcula en long para que un
+     * desbordamiento no pase como un número negativo o pequeño
+     */
+    private static ByteBuffer directo(long bytes) {
+        if (bytes > MAXIMO_BUFFER) {
+            throw new IllegalStateException("Una columna necesitaría " + bytes
+                + " bytes; un ByteBuffer admite hasta " + MAXIMO_BUFFER);
+        }
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+    }
+    
+    private static ByteBuffer ampliar(ByteBuffer actual, long bytes) {
+        ByteBuffer nuevo = directo(bytes);
+        nuevo.put(0, actual, 0, actual.capacity());
+        return nuevo;
+    }
+    
+    private static byte[] utf8(String texto) {
+        return texto != null ? texto.getBytes(StandardCharsets.UTF_8) : null;
+    }
+    
+    private static byte[] minusculasAscii(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = minusculaAscii(bytes[i]);
+        }
+        return bytes;
+    }
+    
+    private static byte minusculaAscii(byte b) {
+        return (b >= 'A' && b <= 'Z') ? (byte) (b + ('a' - 'A')) : b;
+    }
+    
+    /**
+     * Búsqueda ingenua de 'aguja' (ya en minúsculas) en datos[inicio, inicio+longitud)
+     */
+    private static boolean contiene(ByteBuffer datos, int inicio, int longitud, byte[] aguja) {
+        int ultimo = inicio + longitud - aguja.length;
+        for (int i = inicio; i <= ultimo; i++) {
+            int j = 0;
+            while (j < aguja.length && minusculaAscii(datos.get(i + j)) == aguja[j]) {
+                j++;
+            }
+            if (j == aguja.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Columna de textos: un bloque UTF-8 continuo más inicio y longitud por fila
+     * (longitud -1 = null)
+     */
+    private static final class ColumnaTexto {
+        private ByteBuffer inicios;
+        private ByteBuffer longitudes;
+        private ByteBuffer datos;
+        private int filas;
+        private int usados;
+        
+        ColumnaTexto(int capacidadFilas, int bytesPorFila) {
+            this.inicios = directo((long) capacidadFilas * Integer.BYTES);
+            this.longitudes = directo((long) capacidadFilas * Integer.BYTES);
+            // Es solo una estimación: se recorta al máximo en vez de fallar
+            this.datos = directo(Math.min(MAXIMO_BUFFER, Math.max(1024L, (long) capacidadFilas * bytesPorFila)));
+            this.filas = 0;
+            this.usados = 0;
+        }
+        
+        /**
+         * Asegura espacio para 'bytes' (null = texto nulo, no ocupa)
+         * @throws IllegalStateException si la columna pasaría de MAXIMO_BUFFER bytes
+         */
+        void reservar(byte[] bytes) {
+            if (bytes == null) {
+                return;
+            }
+            long necesarios = (long) usados + bytes.length;
+            if (necesarios <= datos.capacity()) {
+                return;
+            }
+            if (necesarios > MAXIMO_BUFFER) {
+                throw new IllegalStateException("La columna de textos pasaría de "
+                    + MAXIMO_BUFFER + " bytes");
+            }
+            long bytesNuevos = datos.capacity();
+            while (bytesNuevos < necesarios) {
+                bytesNuevos *= 2;
+            }
+            datos = ampliar(datos, Math.min(bytesNuevos, MAXIMO_BUFFER));
+        }
+        
+        /**
+         * Agrega un texto ya reservado con reservar()
+         */
+        void agregar(byte[] bytes) {
+            if (bytes == null) {
+                inicios.putInt(filas * Integer.BYTES, usados);
+                longitudes.putInt(filas * Integer.BYTES, -1);
+                filas++;
+                return;
+            }
+            
+            datos.put(usados, bytes);
+            inicios.putInt(filas * Integer.BYTES, usados);
+            longitudes.putInt(filas * Integer.BYTES, bytes.length);
+            usados += bytes.length;
+            filas++;
+        }
+        
+        String obtener(int fila) {
+            int longitud = longitudes.getInt(fila * Integer.BYTES);
+            if (longitud < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[longitud];
+            datos.get(inicios.getInt(fila * Integer.BYTES), bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        
+        boolean contiene(int fila, byte[] aguja) {
+            int longitud = longitudes.getInt(fila * Integer.BYTES);
+            return longitud >= 0
+                && CatalogoColumnar.contiene(datos, inicios.getInt(fila * Integer.BYTES), longitud, aguja);
+        }
+        
+        void ampliarFilas(int capacidadFilas) {
+            inicios = ampliar(inicios, (long) capacidadFilas * Integer.BYTES);
+            longitudes = ampliar(longitudes, (long) capacidadFilas * Integer.BYTES);
+        }
+        
+        long bytesReservados() {
+            return (long) inicios.capacity() + longitudes.capacity() + datos.capacity();
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package org.upemor.reproductor.model.catalogo;
+
+import org.upemor.reproductor.estructuras.DiccionarioCadenas;
+import org.upemor.reproductor.model.entity.Cancion;
+
+/**
+ * Catálogo de canciones compacto en memoria
+ * En lugar de un objeto Cancion por fila guarda columnas de primitivos:
+ * - id y duración sin boxing (long[] e int[])
+ * - artista, álbum y carpeta de la ruta como códigos de un DiccionarioCadenas
+ *   (cada texto repetido se guarda una sola vez)
+ * - título y nombre de archivo como String (casi siempre son únicos)
+ *
+ * Las filas se leen con un Cursor reutilizable (flyweight) o se convierten
+ * a Cancion solo cuando hace falta (por ejemplo, para reproducirlas).
+ * @author Sistema Reproductor
+ */
+public class CatalogoCompacto {
+    private static final int CAPACIDAD_INICIAL = 64;
+    private static final int SIN_DURACION = Integer.MIN_VALUE;
+    private static final long SIN_ID = Long.MIN_VALUE; // Canción sin id (aún no guardada)
+    
+    private final DiccionarioCadenas artistas = new DiccionarioCadenas();
+    private final DiccionarioCadenas albumes = new DiccionarioCadenas();
+    private final DiccionarioCadenas carpetas = new DiccionarioCadenas();
+    
+    private long[] ids;
+    private int[] duraciones;
+    private String[] titulos;
+    private int[] codigosArtista;
+    private int[] codigosAlbum;
+    private int[] codigosCarpeta;
+    private String[] archivos;
+    private int tamanio;
+    private boolean ordenadoPorId; // true mientras los ids lleguen en orden ascendente
+    
+    public CatalogoCompacto() {
+        this(CAPACIDAD_INICIAL);
+    }
+    
+    public CatalogoCompacto(int capacidad) {
+        capacidad = Math.max(1, capacidad);
+        this.ids = new long[capacidad];
+        this.duraciones = new int[capacidad];
+        this.titulos = new String[capacidad];
+        this.codigosArtista = new int[capacidad];
+        this.codigosAlbum = new int[capacidad];
+        this.codigosCarpeta = new int[capacidad];
+        this.archivos = new String[capacidad];
+        this.tamanio = 0;
+        this.ordenadoPorId = true;
+    }
+    
+    /**
+     * Agrega una fila con los datos de una canción
+     * Si no tiene id se guarda sin id y vuelve a salir como null
+     */
+    public void agregar(Cancion cancion) {
+        agregar(cancion.getId() != null ? cancion.getId() : SIN_ID,
+            cancion.getTitulo(), cancion.getArtista(), cancion.getAlbum(),
+            cancion.getDuracion(), cancion.getRutaArchivo());
+    }
+    
+    /**
+     * Agrega una fila sin crear ningún objeto Cancion
+     * Long.MIN_VALUE como id significa "sin id"
+     * @return El número de fila
+     */
+    public int agregar(long id, String titulo, String artista, String album,
+                       Integer duracion, String rutaArchivo) {
+        if (tamanio == ids.length) {
+            crecer();
+        }
+        
+        int fila = tamanio;
+        if (fila > 0 && id < ids[fila - 1]) {
+            ordenadoPorId = false;
+        }
+        
+        ids[fila] = id;
+        duraciones[fila] = duracion != null ? duracion : SIN_DURACION;
+        titulos[fila] = titulo;
+        codigosArtista[fila] = artistas.codificar(artista);
+        codigosAlbum[fila] = albumes.codificar(album);
+        
+        // Separar la ruta en carpeta (compartida) y nombre de archivo
+        if (rutaArchivo == null) {
+            codigosCarpeta[fila] = DiccionarioCadenas.NULO;
+            archivos[fila] = null;
+        } else {
+            int corte = Math.max(rutaArchivo.lastIndexOf('/'), rutaArchivo.lastIndexOf('\\')) + 1;
+            codigosCarpeta[fila] = carpetas.codificar(rutaArchivo.substring(0, corte));
+            archivos[fila] = rutaArchivo.substring(corte);
+        }
+        
+        tamanio++;
+        return fila;
+    }
+    
+    /**
+     * Número de filas
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+    
+    public boolean estaVacio() {
+        return tamanio == 0;
+    }
+    
+    /**
+     * Artistas distintos en el catálogo
+     */
+    public int cantidadArtistas() {
+        return artistas.tamanio();
+    }
+    
+    /**
+     * Álbumes distintos en el catálogo
+     */
+    public int cantidadAlbumes() {
+        return albumes.tamanio();
+    }
+    
+    // ==================== Acceso por columna ====================
+    
+    /**
+     * Id de la fila o null si la canción no tenía id
+     */
+    public Long getId(int fila) {
+        return ids[fila] == SIN_ID ? null : ids[fila];
+    }
+    
+    public String getTitulo(int fila) {
+        return titulos[fila];
+    }
+    
+    public String getArtista(int fila) {
+        return artistas.decodificar(codigosArtista[fila]);
+    }
+    
+    public String getAlbum(int fila) {
+        return albumes.decodificar(codigosAlbum[fila]);
+    }
+    
+    public Integer getDuracion(int fila) {
+        return duraciones[fila] == SIN_DURACION ? null : duraciones[fila];
+    }
+    
+    public String getRutaArchivo(int fila) {
+        if (archivos[fila] == null) {
+            return null;
+        }
+        return carpetas.decodificar(codigosCarpeta[fila]) + archivos[fila];
+    }
+    
+    /**
+     * Fila de un id; búsqueda binaria si los ids llegaron ordenados
+     * (como los carga el repositorio), lineal si no
+     * @return La fila o -1 si no existe
+     */
+    public int buscarFila(long id) {
+        if (id == SIN_ID) {
+            return -1; // Las filas sin id no se pueden buscar
+        }
+        if (ordenadoPorId) {
+            int inicio = 0;
+            int fin = tamanio - 1;
+            while (inicio <= fin) {
+                int medio = (inicio + fin) >>> 1;
+                if (ids[medio] < id) {
+                    inicio = medio + 1;
+                } else if (ids[medio] > id) {
+                    fin = medio - 1;
+                } else {
+                    return medio;
+                }
+            }
+            return -1;
+        }
+        
+        for (int fila = 0; fila < tamanio; fila++) {
+            if (ids[fila] == id) {
+                return fila;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Filas de un artista comparando códigos enteros, sin comparar textos
+     * @return Las filas en orden ascendente
+     */
+    public int[] filasDeArtista(String artista) {
+        int codigo = artistas.buscar(artista);
+        if (codigo == DiccionarioCadenas.NULO) {
+            return new int[0];
+        }
+        
+        int cantidad = 0;
+        for (int fila = 0; fila < tamanio; fila++) {
+            if (codigosArtista[fila] == codigo) {
+                cantidad++;
+            }
+        }
+        int[] filas = new int[cantidad];
+        int j = 0;
+        for (int fila = 0; fila < tamanio; fila++) {
+            if (codigosArtista[fila] == codigo) {
+                filas[j++] = fila;
+            }
+        }
+        return filas;
+    }
+    
+    /**
+     * Crea una Cancion independiente con los datos de una fila
+     * Los textos repetidos son las mismas instancias del diccionario
+     */
+    public Cancion aCancion(int fila) {
+        return new Cancion(getId(fila), titulos[fila], getArtista(fila), getAlbum(fila),
+            getDuracion(fila), getRutaArchivo(fila));
+    }
+    
+    /**
+     * Cursor para recorrer el catálogo sin crear un objeto por fila
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+    
+    /**
+     * Recorre todas las filas con el mismo cursor
+     */
+    public void recorrer(AccionCursor accion) {
+        Cursor cursor = new Cursor();
+        for (int fila = 0; fila < tamanio; fila++) {
+            cursor.fila = fila;
+            accion.ejecutar(cursor);
+        }
+    }
+    
+    private void crecer() {
+        int capacidad = ids.length * 2;
+        ids = copiar(ids, capacidad);
+        duraciones = copiar(duraciones, capacidad);
+        codigosArtista = copiar(codigosArtista, capacidad);
+        codigosAlbum = copiar(codigosAlbum, capacidad);
+        codigosCarpeta = copiar(codigosCarpeta, capacidad);
+        titulos = copiar(titulos, capacidad);
+        archivos = copiar(archivos, capacidad);
+    }
+    
+    private long[] copiar(long[] origen, int capacidad) {
+        long[] destino = new long[capacidad];
+        System.arraycopy(origen, 0, destino, 0, tamanio);
+        return destino;
+    }
+    
+    private int[] copiar(int[] origen, int capacidad) {
+        int[] destino = new int[capacidad];
+        System.arraycopy(origen, 0, destino, 0, tamanio);
+        return destino;
+    }
+    
+    private String[] copiar(String[] origen, int capacidad) {
+        String[] destino = new String[capacidad];
+        System.arraycopy(origen, 0, destino, 0, tamanio);
+        return destino;
+    }
+    
+    /**
+     * Vista flyweight de una fila: el mismo objeto sirve para todas,
+     * solo cambia la posición. No guardar referencias a él entre filas;
+     * usar aCancion() si se necesita conservar la canción.
+     */
+    public final class Cursor {
+        private int fila = -1;
+        
+        /**
+         * Coloca el cursor en una fila
+         */
+        public Cursor mover(int fila) {
+            if (fila < 0 || fila >= tamanio) {
+                throw new IllegalArgumentException("Fila inválida: " + fila);
+            }
+            this.fila = fila;
+            return this;
+        }
+        
+        public int getFila() {
+            return fila;
+        }
+        
+        public Long getId() {
+            return CatalogoCompacto.this.getId(fila);
+        }
+        
+        public String getTitulo() {
+            return titulos[fila];
+        }
+        
+        public String getArtista() {
+            return CatalogoCompacto.this.getArtista(fila);
+        }
+        
+        public String getAlbum() {
+            return CatalogoCompacto.this.getAlbum(fila);
+        }
+        
+        public int getDuracion() {
+            return duraciones[fila] == SIN_DURACION ? 0 : duraciones[fila];
+        }
+        
+        public String getRutaArchivo() {
+            return CatalogoCompacto.this.getRutaArchivo(fila);
+        }
+        
+        /**
+         * Convierte la duración de segundos a formato mm:ss
+         */
+        public String getDuracionFormateada() {
+            int duracion = getDuracion();
+            return String.format("%02d:%02d", duracion / 60, duracion % 60);
+        }
+        
+        public Cancion aCancion() {
+            return CatalogoCompacto.this.aCancion(fila);
+        }
+    }
+    
+    /**
+     * Interfaz funcional para recorrer el catálogo con un cursor
+     */
+    public interface AccionCursor {
+        void ejecutar(Cursor cursor);
+    }
+}
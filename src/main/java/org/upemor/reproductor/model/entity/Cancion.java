@@ -1,9 +1,12 @@
 package org.upemor.reproductor.model.entity;
 
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Locale;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
 
 /**
  * Entidad Cancion
@@ -12,8 +15,13 @@ import lombok.AllArgsConstructor;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class Cancion {
+    /**
+     * Orden alfabético en español: ignora mayúsculas y ordena las vocales
+     * acentuadas junto a las normales ("Canción" junto a "Cancion")
+     */
+    private static final Collator COLADOR = crearColador();
+    
     private Long id;
     private String titulo;
     private String artista;
@@ -21,6 +29,68 @@ public class Cancion {
     private Integer duracion; // en segundos
     private String rutaArchivo;
     
+    // Claves de ordenamiento: se calculan una vez y se descartan al cambiar el texto
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CollationKey claveTitulo;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CollationKey claveArtista;
+    
+    public Cancion(Long id, String titulo, String artista, String album,
+                   Integer duracion, String rutaArchivo) {
+        this.id = id;
+        this.titulo = titulo;
+        this.artista = artista;
+        this.album = album;
+        this.duracion = duracion;
+        this.rutaArchivo = rutaArchivo;
+    }
+    
+    /**
+     * Copia de otra canción; conserva sus claves de ordenamiento ya calculadas
+     */
+    public Cancion(Cancion otra) {
+        this(otra.id, otra.titulo, otra.artista, otra.album, otra.duracion, otra.rutaArchivo);
+        this.claveTitulo = otra.claveTitulo;
+        this.claveArtista = otra.claveArtista;
+    }
+    
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+        this.claveTitulo = null;
+    }
+    
+    public void setArtista(String artista) {
+        this.artista = artista;
+        this.claveArtista = null;
+    }
+    
+    /**
+     * Clave para ordenar por título; compararla es mucho más barato que
+     * comparar los textos con el Collator cada vez
+     */
+    public CollationKey getClaveTitulo() {
+        CollationKey clave = claveTitulo;
+        if (clave == null) {
+            clave = crearClave(titulo);
+            claveTitulo = clave;
+        }
+        return clave;
+    }
+    
+    /**
+     * Clave para ordenar por artista
+     */
+    public CollationKey getClaveArtista() {
+        CollationKey clave = claveArtista;
+        if (clave == null) {
+            clave = crearClave(artista);
+            claveArtista = clave;
+        }
+        return clave;
+    }
+    
     /**
      * Convierte la duración de segundos a formato mm:ss
      */
@@ -48,4 +118,21 @@ public class Cancion {
     public int hashCode() {
         return id != null ? id.hashCode() : 0;
     }
+    
+    private static Collator crearColador() {
+        Collator colador = Collator.getInstance(Locale.forLanguageTag("es-MX"));
+        colador.setStrength(Collator.SECONDARY);
+        colador.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        return colador;
+    }
+    
+    /**
+     * Clave de ordenamiento alfabético en español para cualquier texto
+     * Collator no es seguro entre hilos: se usa una instancia bajo candado
+     */
+    public static CollationKey crearClave(String texto) {
+        synchronized (COLADOR) {
+            return COLADOR.getCollationKey(texto != null ? texto : "");
+        }
+    }
 }
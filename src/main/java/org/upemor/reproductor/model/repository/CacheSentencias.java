@@ -0,0 +1,75 @@
+package org.upemor.reproductor.model.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import org.upemor.reproductor.estructuras.MiMapa;
+
+/**
+ * Caché de sentencias preparadas de una conexión
+ *
+ * SQLite analiza y planea una consulta cada vez que se prepara. Como el
+ * repositorio siempre ejecuta las mismas pocas consultas, cada conexión
+ * guarda sus PreparedStatement por texto SQL y los reutiliza: solo cambian
+ * los parámetros. Las sentencias se cierran junto con la conexión.
+ *
+ * No es segura entre hilos: pertenece a una sola conexión y MiConexion
+ * garantiza que solo la use un hilo a la vez. Quien obtiene una sentencia
+ * debe cerrar su ResultSet antes de volver a pedir la misma consulta.
+ * @author Sistema Reproductor
+ */
+public class CacheSentencias {
+    private final Connection conexion;
+    private final MiMapa<String, PreparedStatement> sentencias = new MiMapa<>();
+    
+    public CacheSentencias(Connection conexion) {
+        this.conexion = conexion;
+    }
+    
+    /**
+     * Retorna la sentencia preparada para la consulta, preparándola solo la primera vez
+     * Complejidad esperada: O(1) después de la primera llamada
+     */
+    public PreparedStatement preparar(String sql) throws SQLException {
+        PreparedStatement stmt = sentencias.obtener(sql);
+        if (stmt == null || stmt.isClosed()) {
+            stmt = conexion.prepareStatement(sql);
+            sentencias.poner(sql, stmt);
+        }
+        return stmt;
+    }
+    
+    /**
+     * Conexión dueña de las sentencias (para transacciones o consultas únicas)
+     */
+    public Connection getConexion() {
+        return conexion;
+    }
+    
+    /**
+     * Cantidad de sentencias preparadas en caché
+     */
+    public int tamanio() {
+        return sentencias.tamanio();
+    }
+    
+    /**
+     * Cierra todas las sentencias y después la conexión
+     */
+    public void cerrar() {
+        sentencias.recorrer((sql, stmt) -> {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                System.err.println("Error al cerrar sentencia: " + e.getMessage());
+            }
+        });
+        sentencias.limpiar();
+        
+        try {
+            conexion.close();
+        } catch (SQLException e) {
+            System.err.println("Error al cerrar conexión: " + e.getMessage());
+        }
+    }
+}
@@ -1,16 +1,38 @@
 package org.upemor.reproductor.model.repository;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import org.upemor.reproductor.model.catalogo.CatalogoColumnar;
+import org.upemor.reproductor.model.catalogo.CatalogoCompacto;
 import org.upemor.reproductor.model.entity.Cancion;
 import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiListaIndexada;
 
 /**
  * Repositorio para operaciones CRUD de Canciones
  * Retorna MiLista en lugar de List de Java
+ * (MiListaIndexada, para que las vistas accedan por índice en O(log n))
+ * Las lecturas usan la conexión del hilo actual y las escrituras
+ * pasan por el escritor serializado de MiConexion. Las sentencias salen
+ * de la caché de cada conexión: no se cierran aquí, solo sus ResultSet
+ * (siempre con try-with-resources, también cuando la lectura falla)
  * @author Sistema Reproductor
  */
 public class CancionRepository {
+    private static final String CONSULTA_TEXTO_COMPLETO =
+        "SELECT c.* FROM canciones_fts JOIN canciones c ON c.id = canciones_fts.rowid "
+        + "WHERE canciones_fts MATCH ? ORDER BY bm25(canciones_fts, 10.0, 5.0, 1.0), c.id";
+    private static final String CONSULTA_LIKE =
+        "SELECT * FROM canciones WHERE titulo LIKE ? OR artista LIKE ? OR album LIKE ? ORDER BY id";
+    private static final String INSERTAR =
+        "INSERT INTO canciones (titulo, artista, album, duracion, ruta_archivo) VALUES (?, ?, ?, ?, ?)";
+    
+    /** Canciones por transacción en crearLote si no se indica otra cantidad */
+    public static final int TAMANIO_TRANSACCION_POR_DEFECTO = 1000;
+    
     private MiConexion miConexion;
     
     public CancionRepository() {
@@ -22,20 +44,17 @@ public class CancionRepository {
      * @return MiLista con todas las canciones
      */
     public MiLista<Cancion> obtenerTodas() throws Exception {
-        MiLista<Cancion> canciones = new MiLista<>();
+        MiLista<Cancion> canciones = new MiListaIndexada<>();
         
         try {
             String query = "SELECT * FROM canciones ORDER BY id";
-            PreparedStatement stmt = miConexion.conectar().prepareStatement(query);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                Cancion cancion = mapearCancion(rs);
-                canciones.agregar(cancion);
+            PreparedStatement stmt = miConexion.preparar(query);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Cancion cancion = mapearCancion(rs);
+                    canciones.agregar(cancion);
+                }
             }
-            
-            rs.close();
-            stmt.close();
         } catch (Exception e) {
             System.err.println("Error al obtener todas las canciones: " + e.getMessage());
             throw e;
@@ -45,26 +64,188 @@ public class CancionRepository {
     }
     
     /**
-     * Busca canciones por título o artista
+     * Recorre todas las canciones en orden de id sin juntarlas en una lista
+     * Cada fila se entrega a la acción en cuanto se lee del ResultSet, así
+     * la memoria no crece con el tamaño de la biblioteca y la primera fila
+     * llega sin esperar a las demás. La acción puede detener el recorrido
+     * @return cantidad de canciones entregadas
+     */
+    public int recorrerTodas(AccionCancion accion) throws Exception {
+        try {
+            // Sentencia propia (no de la caché): la acción puede volver a consultar el repositorio
+            try (PreparedStatement stmt = miConexion.conectar().prepareStatement("SELECT * FROM canciones ORDER BY id")) {
+                return recorrer(stmt, accion);
+            }
+        } catch (Exception e) {
+            System.err.println("Error al recorrer canciones: " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Igual que buscar(texto) pero entrega cada resultado en cuanto se lee
+     * @return cantidad de canciones entregadas
+     */
+    public int recorrerBusqueda(String texto, AccionCancion accion) throws Exception {
+        try {
+            int entregadas = 0;
+            String expresion = miConexion.tieneTextoCompleto() ? expresionTextoCompleto(texto) : null;
+            if (expresion != null) {
+                try (PreparedStatement stmt = miConexion.conectar().prepareStatement(CONSULTA_TEXTO_COMPLETO)) {
+                    stmt.setString(1, expresion);
+                    entregadas = recorrer(stmt, accion);
+                }
+            }
+            
+            if (entregadas == 0) {
+                try (PreparedStatement stmt = miConexion.conectar().prepareStatement(CONSULTA_LIKE)) {
+                    asignarPatronLike(stmt, texto);
+                    entregadas = recorrer(stmt, accion);
+                }
+            }
+            return entregadas;
+        } catch (Exception e) {
+            System.err.println("Error al recorrer búsqueda: " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Obtiene una página de canciones ordenadas por id (paginación por llave)
+     * En lugar de OFFSET, que obliga a SQLite a leer y descartar todas las
+     * filas anteriores, se pide "id > último id visto": cada página cuesta
+     * O(log n + tamanioPagina) sin importar qué tan adentro esté
+     * @param despuesDeId id de la última canción de la página anterior (0 para la primera)
+     * @return hasta tamanioPagina canciones; menos (o ninguna) al llegar al final
+     */
+    public MiLista<Cancion> obtenerPagina(long despuesDeId, int tamanioPagina) throws Exception {
+        MiLista<Cancion> canciones = new MiListaIndexada<>();
+        
+        try {
+            String query = "SELECT * FROM canciones WHERE id > ? ORDER BY id LIMIT ?";
+            PreparedStatement stmt = miConexion.preparar(query);
+            stmt.setLong(1, despuesDeId);
+            stmt.setInt(2, tamanioPagina);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    canciones.agregar(mapearCancion(rs));
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error al obtener página de canciones: " + e.getMessage());
+            throw e;
+        }
+        
+        return canciones;
+    }
+    
+    /**
+     * Carga todas las canciones en un catálogo compacto (columnas de
+     * primitivos y textos deduplicados) sin crear un objeto Cancion por fila
+     */
+    public CatalogoCompacto cargarCatalogoCompacto() throws Exception {
+        CatalogoCompacto catalogo = new CatalogoCompacto();
+        
+        try {
+            String query = "SELECT id, titulo, artista, album, duracion, ruta_archivo FROM canciones ORDER BY id";
+            PreparedStatement stmt = miConexion.preparar(query);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Integer duracion = rs.getInt("duracion");
+                    if (rs.wasNull()) {
+                        duracion = null;
+                    }
+                    catalogo.agregar(
+                        rs.getLong("id"),
+                        rs.getString("titulo"),
+                        rs.getString("artista"),
+                        rs.getString("album"),
+                        duracion,
+                        rs.getString("ruta_archivo"));
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error al cargar el catálogo compacto: " + e.getMessage());
+            throw e;
+        }
+        
+        return catalogo;
+    }
+    
+    /**
+     * Carga todas las canciones en el catálogo por columnas fuera del heap
+     * Primero cuenta las filas para reservar las columnas de una sola vez
+     */
+    public CatalogoColumnar cargarCatalogoColumnar() throws Exception {
+        try {
+            PreparedStatement conteo = miConexion.preparar("SELECT COUNT(*) FROM canciones");
+            int filas;
+            try (ResultSet rsConteo = conteo.executeQuery()) {
+                filas = rsConteo.next() ? rsConteo.getInt(1) : 0;
+            }
+            
+            CatalogoColumnar catalogo = new CatalogoColumnar(filas);
+            
+            String query = "SELECT id, titulo, artista, album, duracion, ruta_archivo FROM canciones ORDER BY id";
+            PreparedStatement stmt = miConexion.preparar(query);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Integer duracion = rs.getInt("duracion");
+                    if (rs.wasNull()) {
+                        duracion = null;
+                    }
+                    catalogo.agregar(
+                        rs.getLong("id"),
+                        rs.getString("titulo"),
+                        rs.getString("artista"),
+                        rs.getString("album"),
+                        duracion,
+                        rs.getString("ruta_archivo"));
+                }
+            }
+            return catalogo;
+        } catch (Exception e) {
+            System.err.println("Error al cargar el catálogo columnar: " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Busca canciones por título, artista o álbum
+     * Con el índice FTS5 cada palabra se busca como prefijo ("bohem rhap"
+     * encuentra "Bohemian Rhapsody") y los resultados salen ordenados por
+     * relevancia (bm25, pesando más el título que el artista y el álbum).
+     * Si no hay índice o nada coincide por prefijo, se busca el texto en
+     * cualquier parte del título, artista o álbum con LIKE (recorre toda la tabla)
      * @return MiLista con canciones que coinciden con la búsqueda
      */
     public MiLista<Cancion> buscar(String texto) throws Exception {
-        MiLista<Cancion> canciones = new MiLista<>();
+        MiLista<Cancion> canciones = new MiListaIndexada<>();
         
         try {
-            String query = "SELECT * FROM canciones WHERE titulo LIKE ? OR artista LIKE ? ORDER BY id";
-            PreparedStatement stmt = miConexion.conectar().prepareStatement(query);
-            stmt.setString(1, "%" + texto + "%");
-            stmt.setString(2, "%" + texto + "%");
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                Cancion cancion = mapearCancion(rs);
-                canciones.agregar(cancion);
+            String expresion = miConexion.tieneTextoCompleto() ? expresionTextoCompleto(texto) : null;
+            if (expresion != null) {
+                PreparedStatement stmt = miConexion.preparar(CONSULTA_TEXTO_COMPLETO);
+                stmt.setString(1, expresion);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        canciones.agregar(mapearCancion(rs));
+                    }
+                }
+                
+                if (!canciones.estaVacia()) {
+                    return canciones;
+                }
             }
             
-            rs.close();
-            stmt.close();
+            PreparedStatement stmt = miConexion.preparar(CONSULTA_LIKE);
+            asignarPatronLike(stmt, texto);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Cancion cancion = mapearCancion(rs);
+                    canciones.agregar(cancion);
+                }
+            }
         } catch (Exception e) {
             System.err.println("Error al buscar canciones: " + e.getMessage());
             throw e;
@@ -73,24 +254,53 @@ public class CancionRepository {
         return canciones;
     }
     
+    /**
+     * Convierte el texto del usuario en una consulta FTS5 de prefijos
+     * Cada palabra (letras y dígitos) se escribe entre comillas con * al final,
+     * así ningún carácter del usuario se interpreta como operador de FTS5;
+     * las palabras separadas por espacio deben aparecer todas (AND implícito)
+     * @return la expresión para MATCH, o null si el texto no tiene palabras
+     */
+    private String expresionTextoCompleto(String texto) {
+        StringBuilder expresion = new StringBuilder();
+        int inicio = -1;
+        
+        for (int i = 0; i <= texto.length(); i++) {
+            boolean esPalabra = i < texto.length() && Character.isLetterOrDigit(texto.charAt(i));
+            if (esPalabra && inicio < 0) {
+                inicio = i;
+            } else if (!esPalabra && inicio >= 0) {
+                if (expresion.length() > 0) {
+                    expresion.append(' ');
+                }
+                expresion.append('"').append(texto, inicio, i).append("\"*");
+                inicio = -1;
+            }
+        }
+        return expresion.length() > 0 ? expresion.toString() : null;
+    }
+    
+    /**
+     * Asigna '%texto%' a los tres campos de CONSULTA_LIKE (título, artista y álbum)
+     */
+    private void asignarPatronLike(PreparedStatement stmt, String texto) throws SQLException {
+        String patron = "%" + texto + "%";
+        stmt.setString(1, patron);
+        stmt.setString(2, patron);
+        stmt.setString(3, patron);
+    }
+    
     /**
      * Obtiene una canción por su ID
      */
     public Cancion obtenerPorId(Long id) throws Exception {
         try {
             String query = "SELECT * FROM canciones WHERE id = ?";
-            PreparedStatement stmt = miConexion.conectar().prepareStatement(query);
+            PreparedStatement stmt = miConexion.preparar(query);
             stmt.setLong(1, id);
-            ResultSet rs = stmt.executeQuery();
-            
-            Cancion cancion = null;
-            if (rs.next()) {
-                cancion = mapearCancion(rs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapearCancion(rs) : null;
             }
-            
-            rs.close();
-            stmt.close();
-            return cancion;
         } catch (Exception e) {
             System.err.println("Error al obtener canción por ID: " + e.getMessage());
             throw e;
@@ -102,16 +312,17 @@ public class CancionRepository {
      */
     public boolean crear(Cancion cancion) throws Exception {
         try {
-            String query = "INSERT INTO canciones (titulo, artista, album, duracion, ruta_archivo) VALUES (?, ?, ?, ?, ?)";
-            PreparedStatement stmt = miConexion.conectar().prepareStatement(query);
-            stmt.setString(1, cancion.getTitulo());
-            stmt.setString(2, cancion.getArtista());
-            stmt.setString(3, cancion.getAlbum());
-            stmt.setInt(4, cancion.getDuracion());
-            stmt.setString(5, cancion.getRutaArchivo());
-            
-            int filasAfectadas = stmt.executeUpdate();
-            stmt.close();
+            int filasAfectadas = miConexion.escribir(sentencias -> {
+                PreparedStatement stmt = sentencias.preparar(INSERTAR);
+                stmt.setString(1, cancion.getTitulo());
+                stmt.setString(2, cancion.getArtista());
+                stmt.setString(3, cancion.getAlbum());
+                stmt.setInt(4, cancion.getDuracion());
+                stmt.setString(5, cancion.getRutaArchivo());
+                
+                int filas = stmt.executeUpdate();
+                return filas;
+            });
             return filasAfectadas > 0;
         } catch (Exception e) {
             System.err.println("Error al crear canción: " + e.getMessage());
@@ -119,22 +330,200 @@ public class CancionRepository {
         }
     }
     
+    /**
+     * Inserta muchas canciones agrupadas en transacciones
+     * Con auto-commit cada INSERT es una transacción y SQLite sincroniza el
+     * disco en cada una; aquí se sincroniza una vez por cada tamanioTransaccion
+     * canciones, que se envían juntas con addBatch/executeBatch.
+     *
+     * Las canciones que no pasan el validador se reportan como error y no se
+     * envían. Si un lote falla en la base de datos se deshace y se reintenta
+     * fila por fila, así solo se pierden las filas que realmente fallan.
+     * Cada lote es una escritura aparte: entre lotes pueden entrar otras
+     * escrituras de la aplicación. A cada canción insertada se le asigna su id
+     * @param validador revisa cada canción antes de insertarla (puede ser null)
+     * @return ids generados en el orden de entrada y errores por fila
+     */
+    public ResultadoLote crearLote(Iterable<Cancion> canciones, int tamanioTransaccion,
+                                   ValidadorCancion validador) throws Exception {
+        if (tamanioTransaccion <= 0) {
+            throw new IllegalArgumentException("El tamaño de transacción debe ser mayor que cero");
+        }
+        
+        ResultadoLote resultado = new ResultadoLote();
+        Cancion[] pendientes = new Cancion[tamanioTransaccion];
+        int[] posiciones = new int[tamanioTransaccion];
+        int cantidad = 0;
+        
+        try {
+            for (Cancion cancion : canciones) {
+                int posicion = resultado.registrarFila();
+                if (validador != null) {
+                    try {
+                        validador.validar(cancion);
+                    } catch (Exception e) {
+                        resultado.agregarError(posicion, cancion, e.getMessage());
+                        continue;
+                    }
+                }
+                
+                pendientes[cantidad] = cancion;
+                posiciones[cantidad] = posicion;
+                cantidad++;
+                if (cantidad == tamanioTransaccion) {
+                    insertarTransaccion(pendientes, posiciones, cantidad, resultado);
+                    cantidad = 0;
+                }
+            }
+            if (cantidad > 0) {
+                insertarTransaccion(pendientes, posiciones, cantidad, resultado);
+            }
+        } catch (Exception e) {
+            System.err.println("Error al crear lote de canciones: " + e.getMessage());
+            throw e;
+        }
+        
+        return resultado;
+    }
+    
+    /**
+     * Inserta un lote en una sola transacción del escritor
+     * Los ids se calculan con last_insert_rowid(): con AUTOINCREMENT y el
+     * escritor bloqueado durante la transacción, las filas de un mismo
+     * executeBatch reciben ids consecutivos. Aun así se comprueba, dentro
+     * de la misma transacción, que el rango tenga exactamente las filas del
+     * lote; si no, el lote se repite fila por fila, donde cada id se lee
+     * justo después de su INSERT
+     */
+    private void insertarTransaccion(Cancion[] pendientes, int[] posiciones, int cantidad,
+                                     ResultadoLote resultado) throws Exception {
+        long[] ids = new long[cantidad];
+        String[] errores = new String[cantidad];
+        
+        miConexion.escribir(sentencias -> {
+            Connection conexion = sentencias.getConexion();
+            PreparedStatement stmt = sentencias.preparar(INSERTAR);
+            PreparedStatement ultimoId = sentencias.preparar("SELECT last_insert_rowid()");
+            PreparedStatement contarRango = sentencias.preparar(
+                "SELECT COUNT(*) FROM canciones WHERE id BETWEEN ? AND ?");
+            
+            // El escritor puede reintentar la operación: empezar siempre en limpio
+            for (int i = 0; i < cantidad; i++) {
+                ids[i] = ResultadoLote.SIN_ID;
+                errores[i] = null;
+            }
+            
+            conexion.setAutoCommit(false);
+            SQLException error = null;
+            try {
+                try {
+                    for (int i = 0; i < cantidad; i++) {
+                        asignarParametros(stmt, pendientes[i]);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    long ultimo = leerId(ultimoId);
+                    long primero = ultimo - cantidad + 1;
+                    if (contarFilas(contarRango, primero, ultimo) != cantidad) {
+                        throw new SQLException("Los ids del lote no son consecutivos");
+                    }
+                    for (int i = 0; i < cantidad; i++) {
+                        ids[i] = primero + i;
+                    }
+                } catch (SQLException e) {
+                    // Deshacer el lote y repetirlo fila por fila
+                    stmt.clearBatch();
+                    conexion.rollback();
+                    for (int i = 0; i < cantidad; i++) {
+                        try {
+                            asignarParametros(stmt, pendientes[i]);
+                            stmt.executeUpdate();
+                            ids[i] = leerId(ultimoId);
+                        } catch (SQLException errorFila) {
+                            errores[i] = errorFila.getMessage();
+                        }
+                    }
+                }
+                conexion.commit();
+            } catch (SQLException e) {
+                error = e;
+                try {
+                    conexion.rollback();
+                } catch (SQLException errorRollback) {
+                    e.addSuppressed(errorRollback);
+                }
+                throw e;
+            } finally {
+                // Un fallo aquí no debe ocultar el error original de la transacción
+                try {
+                    conexion.setAutoCommit(true);
+                } catch (SQLException errorAutoCommit) {
+                    if (error == null) {
+                        throw errorAutoCommit;
+                    }
+                    error.addSuppressed(errorAutoCommit);
+                }
+            }
+            return null;
+        });
+        
+        for (int i = 0; i < cantidad; i++) {
+            if (errores[i] == null) {
+                pendientes[i].setId(ids[i]);
+                resultado.asignarId(posiciones[i], ids[i]);
+            } else {
+                resultado.agregarError(posiciones[i], pendientes[i], errores[i]);
+            }
+            pendientes[i] = null;
+        }
+    }
+    
+    private void asignarParametros(PreparedStatement stmt, Cancion cancion) throws SQLException {
+        stmt.setString(1, cancion.getTitulo());
+        stmt.setString(2, cancion.getArtista());
+        stmt.setString(3, cancion.getAlbum());
+        if (cancion.getDuracion() != null) {
+            stmt.setInt(4, cancion.getDuracion());
+        } else {
+            stmt.setNull(4, Types.INTEGER); // La restricción NOT NULL la rechaza como error de fila
+        }
+        stmt.setString(5, cancion.getRutaArchivo());
+    }
+    
+    private long contarFilas(PreparedStatement contarRango, long desde, long hasta) throws SQLException {
+        contarRango.setLong(1, desde);
+        contarRango.setLong(2, hasta);
+        try (ResultSet rs = contarRango.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+    
+    private long leerId(PreparedStatement ultimoId) throws SQLException {
+        try (ResultSet rs = ultimoId.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+    
     /**
      * Actualiza una canción existente
      */
     public boolean actualizar(Cancion cancion) throws Exception {
         try {
             String query = "UPDATE canciones SET titulo = ?, artista = ?, album = ?, duracion = ?, ruta_archivo = ? WHERE id = ?";
-            PreparedStatement stmt = miConexion.conectar().prepareStatement(query);
-            stmt.setString(1, cancion.getTitulo());
-            stmt.setString(2, cancion.getArtista());
-            stmt.setString(3, cancion.getAlbum());
-            stmt.setInt(4, cancion.getDuracion());
-            stmt.setString(5, cancion.getRutaArchivo());
-            stmt.setLong(6, cancion.getId());
-            
-            int filasAfectadas = stmt.executeUpdate();
-            stmt.close();
+            int filasAfectadas = miConexion.escribir(sentencias -> {
+                PreparedStatement stmt = sentencias.preparar(query);
+                stmt.setString(1, cancion.getTitulo());
+                stmt.setString(2, cancion.getArtista());
+                stmt.setString(3, cancion.getAlbum());
+                stmt.setInt(4, cancion.getDuracion());
+                stmt.setString(5, cancion.getRutaArchivo());
+                stmt.setLong(6, cancion.getId());
+                
+                int filas = stmt.executeUpdate();
+                return filas;
+            });
             return filasAfectadas > 0;
         } catch (Exception e) {
             System.err.println("Error al actualizar canción: " + e.getMessage());
@@ -148,11 +537,13 @@ public class CancionRepository {
     public boolean eliminar(Long id) throws Exception {
         try {
             String query = "DELETE FROM canciones WHERE id = ?";
-            PreparedStatement stmt = miConexion.conectar().prepareStatement(query);
-            stmt.setLong(1, id);
-            
-            int filasAfectadas = stmt.executeUpdate();
-            stmt.close();
+            int filasAfectadas = miConexion.escribir(sentencias -> {
+                PreparedStatement stmt = sentencias.preparar(query);
+                stmt.setLong(1, id);
+                
+                int filas = stmt.executeUpdate();
+                return filas;
+            });
             return filasAfectadas > 0;
         } catch (Exception e) {
             System.err.println("Error al eliminar canción: " + e.getMessage());
@@ -160,6 +551,23 @@ public class CancionRepository {
         }
     }
     
+    /**
+     * Entrega las filas de la sentencia una por una hasta que se acaben
+     * o la acción pida detenerse
+     */
+    private int recorrer(PreparedStatement stmt, AccionCancion accion) throws Exception {
+        int entregadas = 0;
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                entregadas++;
+                if (!accion.ejecutar(mapearCancion(rs))) {
+                    break;
+                }
+            }
+        }
+        return entregadas;
+    }
+    
     /**
      * Mapea un ResultSet a un objeto Cancion
      */
@@ -173,4 +581,24 @@ public class CancionRepository {
         cancion.setRutaArchivo(rs.getString("ruta_archivo"));
         return cancion;
     }
+    
+    /**
+     * Interfaz funcional para recibir canciones una por una
+     */
+    @FunctionalInterface
+    public interface AccionCancion {
+        /**
+         * @return true para seguir recibiendo canciones, false para detener el recorrido
+         */
+        boolean ejecutar(Cancion cancion) throws Exception;
+    }
+    
+    /**
+     * Validación de cada canción en crearLote
+     * Lanza una excepción con el motivo si la canción no debe insertarse
+     */
+    @FunctionalInterface
+    public interface ValidadorCancion {
+        void validar(Cancion cancion) throws Exception;
+    }
 }
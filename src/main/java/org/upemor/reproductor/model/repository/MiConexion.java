@@ -1,24 +1,72 @@
 package org.upemor.reproductor.model.repository;
 
+import java.lang.ref.WeakReference;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.locks.ReentrantLock;
+import org.upemor.reproductor.estructuras.MiLista;
 
 /**
- * Clase Singleton para gestionar la conexión a SQLite
+ * Clase Singleton para gestionar las conexiones a SQLite
+ *
+ * La base se abre en modo WAL: los lectores no bloquean al escritor ni el
+ * escritor a los lectores. Por eso cada hilo obtiene su propia conexión de
+ * lectura (conectar()) y todas las escrituras pasan por una sola conexión
+ * serializada con un candado (escribir()), que es lo que SQLite admite:
+ * muchos lectores y un solo escritor a la vez.
+ *
+ * Cada conexión lleva su propia CacheSentencias, así las consultas
+ * frecuentes se preparan una sola vez por conexión.
+ *
+ * Cada conexión de lectura queda registrada junto a su hilo. Al abrir una
+ * nueva se cierran las de los hilos que ya terminaron, así los hilos de
+ * corta vida (SwingWorker, recargas) no dejan conexiones abiertas.
+ *
+ * Si una conexión se cierra o deja de responder se vuelve a abrir.
  * @author Sistema Reproductor
  */
 public class MiConexion {
-    private static MiConexion instancia;
-    private Connection conexion;
     private static final String URL = "jdbc:sqlite:canciones.db";
+    // Milisegundos que SQLite reintenta antes de fallar con SQLITE_BUSY
+    private static final int ESPERA_OCUPADO_MS = 5000;
+    // Segundos para Connection.isValid
+    private static final int ESPERA_VALIDACION_S = 2;
+    
+    private final ReentrantLock candadoEscritura = new ReentrantLock();
+    private CacheSentencias escritor; // Protegida por candadoEscritura
+    
+    // Conexión de lectura de cada hilo; todas quedan registradas con su hilo
+    private final ThreadLocal<CacheSentencias> lectores = new ThreadLocal<>();
+    private MiLista<SesionLectura> abiertas = new MiLista<>(); // Protegida por candadoLectores
+    private final Object candadoLectores = new Object();
+    private volatile boolean cerrada;
+    private boolean textoCompleto; // Se fija en el constructor
+    
+    /**
+     * Operación que se ejecuta con la conexión de escritura
+     * Recibe las sentencias en caché del escritor (y su conexión)
+     * @param <R> Tipo del resultado
+     */
+    @FunctionalInterface
+    public interface OperacionSql<R> {
+        R ejecutar(CacheSentencias sentencias) throws SQLException;
+    }
+    
+    // Inicialización perezosa y segura entre hilos (la JVM carga la clase una sola vez)
+    private static final class Contenedor {
+        private static final MiConexion INSTANCIA = new MiConexion();
+    }
     
     private MiConexion() {
         try {
             Class.forName("org.sqlite.JDBC");
-            conexion = DriverManager.getConnection(URL);
+            escritor = new CacheSentencias(abrirEscritor());
             inicializarBaseDatos();
-            System.out.println("✓ Conexión a SQLite establecida correctamente");
+            System.out.println("✓ Conexión a SQLite establecida correctamente (modo WAL)");
         } catch (Exception e) {
             System.err.println("Error al conectar con SQLite: " + e.getMessage());
             e.printStackTrace();
@@ -29,25 +77,172 @@ public class MiConexion {
      * Obtiene la instancia única de la conexión (Singleton)
      */
     public static MiConexion getInstancia() {
-        if (instancia == null) {
-            instancia = new MiConexion();
+        return Contenedor.INSTANCIA;
+    }
+    
+    /**
+     * Retorna la conexión de lectura del hilo actual
+     * Se abre la primera vez que el hilo la pide y se reabre si se cerró
+     */
+    public Connection conectar() throws SQLException {
+        return sesionLectura().getConexion();
+    }
+    
+    /**
+     * Retorna la sentencia preparada (en caché) para una consulta de lectura
+     * en la conexión del hilo actual
+     */
+    public PreparedStatement preparar(String sql) throws SQLException {
+        return sesionLectura().preparar(sql);
+    }
+    
+    /**
+     * Ejecuta una operación de escritura con la conexión del escritor
+     * Las escrituras se serializan; si la conexión falló se reabre y se
+     * reintenta una vez (un SQLITE_BUSY ya se espera con busy_timeout)
+     */
+    public <R> R escribir(OperacionSql<R> operacion) throws SQLException {
+        candadoEscritura.lock();
+        try {
+            if (cerrada) {
+                throw new SQLException("La conexión a SQLite ya fue cerrada");
+            }
+            if (escritor == null || !estaAbierta(escritor.getConexion())) {
+                reabrirEscritor();
+            }
+            
+            try {
+                return operacion.ejecutar(escritor);
+            } catch (SQLException e) {
+                if (esValida(escritor.getConexion())) {
+                    throw e; // Error de la sentencia, no de la conexión
+                }
+                System.err.println("Conexión de escritura perdida, reconectando: " + e.getMessage());
+                reabrirEscritor();
+                return operacion.ejecutar(escritor);
+            }
+        } finally {
+            candadoEscritura.unlock();
+        }
+    }
+    
+    /**
+     * Cierra la conexión de escritura y todas las de lectura
+     */
+    public void cerrar() {
+        candadoEscritura.lock();
+        try {
+            cerrada = true;
+            if (escritor != null) {
+                escritor.cerrar();
+                escritor = null;
+            }
+            synchronized (candadoLectores) {
+                for (SesionLectura sesion : abiertas) {
+                    sesion.sentencias.cerrar();
+                }
+                abiertas = new MiLista<>();
+            }
+        } finally {
+            candadoEscritura.unlock();
+        }
+    }
+    
+    // ==================== Apertura y validación ====================
+    
+    private CacheSentencias sesionLectura() throws SQLException {
+        if (cerrada) {
+            throw new SQLException("La conexión a SQLite ya fue cerrada");
+        }
+        
+        CacheSentencias sesion = lectores.get();
+        if (sesion == null || !estaAbierta(sesion.getConexion())) {
+            sesion = new CacheSentencias(abrirLector());
+            lectores.set(sesion);
+            registrarLector(sesion);
         }
-        return instancia;
+        return sesion;
     }
     
     /**
-     * Retorna la conexión activa
+     * Registra la conexión de lectura del hilo actual y cierra las que ya
+     * no se usarán: la anterior de este hilo y las de hilos que terminaron
+     * Complejidad: O(conexiones abiertas), solo al abrir una conexión
      */
-    public Connection conectar() {
+    private void registrarLector(CacheSentencias sesion) throws SQLException {
+        Thread actual = Thread.currentThread();
+        synchronized (candadoLectores) {
+            if (cerrada) {
+                // cerrar() ya recorrió las abiertas: esta no la cerraría nadie
+                sesion.cerrar();
+                lectores.remove();
+                throw new SQLException("La conexión a SQLite ya fue cerrada");
+            }
+            
+            MiLista<SesionLectura> vigentes = new MiLista<>();
+            for (SesionLectura abierta : abiertas) {
+                Thread hilo = abierta.hilo.get();
+                if (hilo == null || !hilo.isAlive() || hilo == actual) {
+                    abierta.sentencias.cerrar();
+                } else {
+                    vigentes.agregar(abierta);
+                }
+            }
+            vigentes.agregar(new SesionLectura(actual, sesion));
+            abiertas = vigentes;
+        }
+    }
+    
+    private Connection abrirEscritor() throws SQLException {
+        Connection conexion = DriverManager.getConnection(URL);
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = NORMAL");
+            stmt.execute("PRAGMA busy_timeout = " + ESPERA_OCUPADO_MS);
+        }
+        return conexion;
+    }
+    
+    private Connection abrirLector() throws SQLException {
+        Connection conexion = DriverManager.getConnection(URL);
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + ESPERA_OCUPADO_MS);
+            stmt.execute("PRAGMA query_only = 1");
+        }
         return conexion;
     }
     
+    private void reabrirEscritor() throws SQLException {
+        if (escritor != null) {
+            escritor.cerrar();
+            escritor = null;
+        }
+        escritor = new CacheSentencias(abrirEscritor());
+    }
+    
+    // Revisión barata para cada uso; isValid ejecuta una consulta y solo se usa tras un error
+    private boolean estaAbierta(Connection conexion) {
+        try {
+            return !conexion.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    private boolean esValida(Connection conexion) {
+        try {
+            return !conexion.isClosed() && conexion.isValid(ESPERA_VALIDACION_S);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
     /**
      * Inicializa la base de datos creando las tablas si no existen
      */
     private void inicializarBaseDatos() {
         try {
-            Statement stmt = conexion.createStatement();
+            Statement stmt = escritor.getConexion().createStatement();
             
             // Crear tabla canciones
             String sqlCrearTabla = """
@@ -62,6 +257,9 @@ public class MiConexion {
             """;
             stmt.execute(sqlCrearTabla);
             
+            // Índice de texto completo antes de los datos de ejemplo (los triggers los indexan)
+            inicializarTextoCompleto(stmt);
+            
             // Verificar si hay datos
             var rs = stmt.executeQuery("SELECT COUNT(*) as total FROM canciones");
             if (rs.next() && rs.getInt("total") == 0) {
@@ -89,4 +287,79 @@ public class MiConexion {
             e.printStackTrace();
         }
     }
+    
+    /**
+     * Crea la tabla FTS5 canciones_fts sobre titulo, artista y album
+     * Es de contenido externo (no duplica el texto, lo lee de canciones) y
+     * los triggers la mantienen sincronizada con cada INSERT, UPDATE y DELETE.
+     * Si la tabla es nueva se indexan las canciones que ya existían.
+     * Si SQLite no trae FTS5 la búsqueda sigue funcionando con LIKE.
+     */
+    private void inicializarTextoCompleto(Statement stmt) {
+        try {
+            boolean existia;
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'canciones_fts'")) {
+                existia = rs.next();
+            }
+            
+            stmt.execute("""
+                CREATE VIRTUAL TABLE IF NOT EXISTS canciones_fts USING fts5(
+                    titulo, artista, album,
+                    content = 'canciones', content_rowid = 'id',
+                    tokenize = 'unicode61 remove_diacritics 2'
+                )
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS canciones_fts_insertar AFTER INSERT ON canciones BEGIN
+                    INSERT INTO canciones_fts (rowid, titulo, artista, album)
+                    VALUES (new.id, new.titulo, new.artista, new.album);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS canciones_fts_eliminar AFTER DELETE ON canciones BEGIN
+                    INSERT INTO canciones_fts (canciones_fts, rowid, titulo, artista, album)
+                    VALUES ('delete', old.id, old.titulo, old.artista, old.album);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS canciones_fts_actualizar AFTER UPDATE OF titulo, artista, album ON canciones BEGIN
+                    INSERT INTO canciones_fts (canciones_fts, rowid, titulo, artista, album)
+                    VALUES ('delete', old.id, old.titulo, old.artista, old.album);
+                    INSERT INTO canciones_fts (rowid, titulo, artista, album)
+                    VALUES (new.id, new.titulo, new.artista, new.album);
+                END
+            """);
+            
+            if (!existia) {
+                stmt.execute("INSERT INTO canciones_fts (canciones_fts) VALUES ('rebuild')");
+                System.out.println("✓ Índice de texto completo creado");
+            }
+            textoCompleto = true;
+        } catch (SQLException e) {
+            textoCompleto = false;
+            System.err.println("FTS5 no disponible, se buscará con LIKE: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Indica si existe el índice FTS5 canciones_fts
+     */
+    public boolean tieneTextoCompleto() {
+        return textoCompleto;
+    }
+    
+    /**
+     * Conexión de lectura y el hilo que la usa (referencia débil para no
+     * retener hilos terminados)
+     */
+    private static final class SesionLectura {
+        private final WeakReference<Thread> hilo;
+        private final CacheSentencias sentencias;
+        
+        SesionLectura(Thread hilo, CacheSentencias sentencias) {
+            this.hilo = new WeakReference<>(hilo);
+            this.sentencias = sentencias;
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package org.upemor.reproductor.model.repository;
+
+import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.model.entity.Cancion;
+
+/**
+ * Resultado de una inserción por lotes (CancionRepository.crearLote)
+ * Guarda el id generado para cada canción en el mismo orden en que se
+ * recibieron, y un error por cada canción que no se pudo insertar; una
+ * fila inválida no detiene a las demás
+ * @author Sistema Reproductor
+ */
+public class ResultadoLote {
+    /** Id de las posiciones que no se insertaron */
+    public static final long SIN_ID = -1;
+    private static final int CAPACIDAD_INICIAL = 16;
+    
+    private long[] ids = new long[CAPACIDAD_INICIAL];
+    private int total;
+    private int creadas;
+    private final MiLista<ErrorFila> errores = new MiLista<>();
+    
+    /**
+     * Reserva la siguiente posición (todavía sin id)
+     * @return la posición reservada
+     */
+    int registrarFila() {
+        if (total == ids.length) {
+            long[] nuevos = new long[ids.length * 2];
+            System.arraycopy(ids, 0, nuevos, 0, total);
+            ids = nuevos;
+        }
+        ids[total] = SIN_ID;
+        return total++;
+    }
+    
+    void asignarId(int posicion, long id) {
+        ids[posicion] = id;
+        creadas++;
+    }
+    
+    void agregarError(int posicion, Cancion cancion, String mensaje) {
+        errores.agregar(new ErrorFila(posicion, cancion, mensaje));
+    }
+    
+    /**
+     * Id generado para la canción en esa posición, o SIN_ID si falló
+     */
+    public long getId(int posicion) {
+        if (posicion < 0 || posicion >= total) {
+            throw new IndexOutOfBoundsException("Posición fuera de rango: " + posicion);
+        }
+        return ids[posicion];
+    }
+    
+    /**
+     * Ids en el orden de entrada (SIN_ID en las posiciones que fallaron)
+     */
+    public long[] getIds() {
+        long[] copia = new long[total];
+        System.arraycopy(ids, 0, copia, 0, total);
+        return copia;
+    }
+    
+    /**
+     * Cantidad de canciones recibidas
+     */
+    public int getTotal() {
+        return total;
+    }
+    
+    /**
+     * Cantidad de canciones insertadas
+     */
+    public int getCreadas() {
+        return creadas;
+    }
+    
+    public MiLista<ErrorFila> getErrores() {
+        return errores;
+    }
+    
+    public boolean tieneErrores() {
+        return !errores.estaVacia();
+    }
+    
+    /**
+     * Canción que no se pudo insertar y la causa
+     */
+    public static class ErrorFila {
+        private final int posicion;
+        private final Cancion cancion;
+        private final String mensaje;
+        
+        ErrorFila(int posicion, Cancion cancion, String mensaje) {
+            this.posicion = posicion;
+            this.cancion = cancion;
+            this.mensaje = mensaje;
+        }
+        
+        /** Posición de la canción en la entrada (desde 0) */
+        public int getPosicion() {
+            return posicion;
+        }
+        
+        public Cancion getCancion() {
+            return cancion;
+        }
+        
+        public String getMensaje() {
+            return mensaje;
+        }
+        
+        @Override
+        public String toString() {
+            return "Fila " + posicion + ": " + mensaje;
+        }
+    }
+}
@@ -19,7 +19,8 @@ public class PrincipalDlg extends JFrame {
     private HistorialDlg historialDlg;
     private JTabbedPane tabbedPane;
     
-    public PrincipalDlg() {
+    public PrincipalDlg(Reproductor reproductor) {
+        this.reproductor = reproductor;
         initComponents();
         setVisible(true);
     }
@@ -30,9 +31,6 @@ public class PrincipalDlg extends JFrame {
         setLocationRelativeTo(null);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         
-        // Crear instancia del reproductor
-        reproductor = new Reproductor();
-        
         // Crear panel principal
         JPanel panelPrincipal = new JPanel(new BorderLayout());
         panelPrincipal.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -139,6 +137,8 @@ public class PrincipalDlg extends JFrame {
             System.err.println("Error al configurar Look and Feel: " + e.getMessage());
         }
         
-        SwingUtilities.invokeLater(() -> new PrincipalDlg());
+        Reproductor reproductor = new Reproductor();
+        Runtime.getRuntime().addShutdownHook(new Thread(reproductor::cerrar));
+        SwingUtilities.invokeLater(() -> new PrincipalDlg(reproductor));
     }
 }
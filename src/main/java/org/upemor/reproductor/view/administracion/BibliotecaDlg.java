@@ -2,24 +2,48 @@ package org.upemor.reproductor.view.administracion;
 
 import javax.swing.*;
 import org.upemor.reproductor.controller.CancionController;
+import org.upemor.reproductor.estructuras.MiArbol;
 import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.MiListaIndexada;
+import org.upemor.reproductor.estructuras.MiMapaLong;
 import org.upemor.reproductor.model.entity.Cancion;
 import org.upemor.reproductor.view.tools.BaseDlg;
+import org.upemor.reproductor.logica.ImportadorMusica;
 import org.upemor.reproductor.logica.Reproductor;
 import java.awt.*;
+import java.nio.file.Path;
+import java.util.Comparator;
 
 /**
  * Panel para gestionar la biblioteca de canciones
  * @author Sistema Reproductor
  */
 public class BibliotecaDlg extends BaseDlg {
+    // Orden alfabético en español con las claves precalculadas de Cancion;
+    // el id desempata canciones con el mismo título o artista (sin id, al final)
+    private static final Comparator<Long> POR_ID = Comparator.nullsLast(Long::compare);
+    private static final MiLista.Comparador<Cancion> POR_TITULO = (c1, c2) -> {
+        int cmp = c1.getClaveTitulo().compareTo(c2.getClaveTitulo());
+        return cmp != 0 ? cmp : POR_ID.compare(c1.getId(), c2.getId());
+    };
+    private static final MiLista.Comparador<Cancion> POR_ARTISTA = (c1, c2) -> {
+        int cmp = c1.getClaveArtista().compareTo(c2.getClaveArtista());
+        return cmp != 0 ? cmp : POR_ID.compare(c1.getId(), c2.getId());
+    };
+    
     private CancionController controller;
     private Reproductor reproductor;
     private JButton btnAgregarACola;
+    private JButton btnReproducirDespues;
     private JButton btnReproducirTodo;
     private JButton btnOrdenarTitulo;
     private JButton btnOrdenarArtista;
+    private JButton btnImportar;
     private MiLista<Cancion> cancionesActuales; // Lista de canciones mostradas
+    // Se construyen al primer uso después de cada búsqueda, no en cada búsqueda
+    private MiMapaLong<Cancion> indicePorId;    // Canciones mostradas por id (null = sin construir)
+    private MiArbol<Cancion> vistaOrdenada;     // Árbol que define el orden mostrado (null = orden de búsqueda)
+    private MiLista.Comparador<Cancion> ordenActivo; // Comparador de vistaOrdenada
     
     public BibliotecaDlg(Reproductor reproductor) {
         super();
@@ -52,7 +76,7 @@ public class BibliotecaDlg extends BaseDlg {
         tabla.getColumnModel().getColumn(4).setPreferredWidth(80);
         
         // Personalizar textos
-        lbBuscar.setText("Buscar canción (título o artista):");
+        lbBuscar.setText("Buscar canción (título, artista o álbum):");
         btnBuscar.setText("🔍 Buscar");
         btnAgregar.setText("+Canción");
         btnEditar.setText("✏️ Editar");
@@ -81,6 +105,11 @@ public class BibliotecaDlg extends BaseDlg {
         panelIzquierdo.add(btnEditar);
         panelIzquierdo.add(btnEliminar);
         
+        btnImportar = crearBoton("📂 Importar", new Color(0, 150, 136));
+        btnImportar.setToolTipText("Importar los MP3 de una carpeta");
+        btnImportar.addActionListener(e -> importarCarpeta());
+        panelIzquierdo.add(btnImportar);
+        
         // Panel central con botones de ordenamiento
         JPanel panelCentro = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
         
@@ -97,12 +126,17 @@ public class BibliotecaDlg extends BaseDlg {
         JPanel panelDerecho = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
         
         btnAgregarACola = crearBoton("+Cola", new Color(156, 39, 176));
-        btnAgregarACola.addActionListener(e -> agregarAColaReproduccion());
+        btnAgregarACola.addActionListener(e -> agregarAColaReproduccion(Reproductor.PRIORIDAD_NORMAL));
+        
+        btnReproducirDespues = crearBoton("⏭ Siguiente", new Color(103, 58, 183));
+        btnReproducirDespues.setToolTipText("Reproducir a continuación");
+        btnReproducirDespues.addActionListener(e -> agregarAColaReproduccion(Reproductor.PRIORIDAD_SIGUIENTE));
         
         btnReproducirTodo = crearBoton("▶", new Color(76, 175, 80));
         btnReproducirTodo.addActionListener(e -> reproducirTodasLasCanciones());
         
         panelDerecho.add(btnAgregarACola);
+        panelDerecho.add(btnReproducirDespues);
         panelDerecho.add(btnReproducirTodo);
         
         // Limpiar panel y agregar los nuevos sub-paneles
@@ -120,12 +154,14 @@ public class BibliotecaDlg extends BaseDlg {
             String textoBusqueda = tfBuscar.getText().trim();
             MiLista<Cancion> canciones = controller.buscar(textoBusqueda);
             
-            // Guardar las canciones actuales
+            // Guardar las canciones actuales; el índice y el árbol se arman al necesitarlos
             cancionesActuales = canciones;
+            indicePorId = null;
+            vistaOrdenada = null;
+            ordenActivo = null;
             
-            // Iterar usando nuestra estructura MiLista
-            for (int i = 0; i < canciones.tamanio(); i++) {
-                Cancion cancion = canciones.obtener(i);
+            // Iterar usando nuestra estructura MiLista (Iterable)
+            for (Cancion cancion : canciones) {
                 Object[] fila = {
                     cancion.getId(),
                     cancion.getTitulo(),
@@ -179,8 +215,8 @@ public class BibliotecaDlg extends BaseDlg {
             );
             modal.setVisible(true);
             
-            // Actualizar tabla
-            eventoBotonBuscar();
+            // Actualizar solo la canción editada
+            reemplazarCancion(id);
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this,
                 "Error al editar canción: " + e.getMessage(),
@@ -211,7 +247,7 @@ public class BibliotecaDlg extends BaseDlg {
                     JOptionPane.showMessageDialog(this,
                         "Canción eliminada correctamente",
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                    eventoBotonBuscar();
+                    quitarCancion(id);
                 } else {
                     JOptionPane.showMessageDialog(this,
                         "No se pudo eliminar la canción",
@@ -227,8 +263,10 @@ public class BibliotecaDlg extends BaseDlg {
     
     /**
      * Agrega la canción seleccionada a la cola de reproducción
+     * @param prioridad PRIORIDAD_NORMAL al final de la cola o
+     *                  PRIORIDAD_SIGUIENTE para que suene a continuación
      */
-    private void agregarAColaReproduccion() {
+    private void agregarAColaReproduccion(int prioridad) {
         try {
             Long id = seleccionarID();
             if (id == null) {
@@ -238,11 +276,17 @@ public class BibliotecaDlg extends BaseDlg {
                 return;
             }
             
-            Cancion cancion = controller.obtenerPorId(id);
+            // La canción ya está cargada en la tabla: evitar ir a la base de datos
+            Cancion cancion = indice().obtener(id);
+            if (cancion == null) {
+                cancion = controller.obtenerPorId(id);
+            }
             if (cancion != null) {
-                reproductor.agregarACola(cancion);
+                reproductor.agregarACola(cancion, prioridad);
                 JOptionPane.showMessageDialog(this,
-                    "Canción agregada a la cola: " + cancion.getTitulo(),
+                    (prioridad > Reproductor.PRIORIDAD_NORMAL
+                        ? "Sonará a continuación: "
+                        : "Canción agregada a la cola: ") + cancion.getTitulo(),
                     "Éxito", JOptionPane.INFORMATION_MESSAGE);
             }
         } catch (Exception e) {
@@ -267,11 +311,8 @@ public class BibliotecaDlg extends BaseDlg {
             // Limpiar la cola actual
             reproductor.limpiarCola();
             
-            // Agregar todas las canciones a la cola
-            for (int i = 0; i < cancionesActuales.tamanio(); i++) {
-                Cancion cancion = cancionesActuales.obtener(i);
-                reproductor.agregarACola(cancion);
-            }
+            // Agregar todas las canciones a la cola de una sola vez
+            reproductor.agregarTodasACola(cancionesActuales);
             
             // Iniciar reproducción
             reproductor.reproducirSiguiente();
@@ -288,7 +329,82 @@ public class BibliotecaDlg extends BaseDlg {
     }
     
     /**
-     * Ordena las canciones actuales por título usando Bubble Sort
+     * Importa los MP3 de una carpeta (y subcarpetas) en segundo plano
+     * Muestra el avance en un diálogo que permite cancelar
+     */
+    private void importarCarpeta() {
+        JFileChooser selector = new JFileChooser();
+        selector.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        selector.setDialogTitle("Carpeta de música a importar");
+        if (selector.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path carpeta = selector.getSelectedFile().toPath();
+        ImportadorMusica importador = new ImportadorMusica(controller);
+        
+        // Diálogo de avance (no modal para no bloquear el hilo de Swing)
+        JProgressBar barra = new JProgressBar();
+        barra.setIndeterminate(true);
+        barra.setStringPainted(true);
+        barra.setString("Buscando archivos...");
+        JButton btnCancelar = new JButton("Cancelar");
+        btnCancelar.addActionListener(e -> {
+            importador.cancelar();
+            btnCancelar.setEnabled(false);
+            barra.setString("Cancelando...");
+        });
+        
+        JDialog dialogo = new JDialog(SwingUtilities.getWindowAncestor(this),
+            "Importando música", Dialog.ModalityType.MODELESS);
+        dialogo.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+        panel.add(new JLabel(carpeta.toString()), BorderLayout.NORTH);
+        panel.add(barra, BorderLayout.CENTER);
+        panel.add(btnCancelar, BorderLayout.SOUTH);
+        dialogo.setContentPane(panel);
+        dialogo.setSize(450, 150);
+        dialogo.setLocationRelativeTo(this);
+        
+        importador.setListener((encontrados, leidos, importados, errores) ->
+            SwingUtilities.invokeLater(() -> barra.setString(
+                leidos + " de " + encontrados + " leídos · " + importados + " importados · " + errores + " errores")));
+        
+        btnImportar.setEnabled(false);
+        new SwingWorker<ImportadorMusica.Resumen, Void>() {
+            @Override
+            protected ImportadorMusica.Resumen doInBackground() throws Exception {
+                return importador.importar(carpeta);
+            }
+            
+            @Override
+            protected void done() {
+                dialogo.dispose();
+                btnImportar.setEnabled(true);
+                try {
+                    ImportadorMusica.Resumen resumen = get();
+                    JOptionPane.showMessageDialog(BibliotecaDlg.this,
+                        (resumen.isCancelado() ? "Importación cancelada\n\n" : "")
+                            + "Archivos MP3 encontrados: " + resumen.getEncontrados() + "\n"
+                            + "Importados: " + resumen.getImportados() + "\n"
+                            + "Ya estaban en la biblioteca: " + resumen.getOmitidos() + "\n"
+                            + "Con errores: " + resumen.getFallidos(),
+                        "Importación", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    Throwable causa = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(BibliotecaDlg.this,
+                        "Error al importar: " + causa.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
+                eventoBotonBuscar();
+            }
+        }.execute();
+        
+        dialogo.setVisible(true);
+    }
+    
+    /**
+     * Muestra las canciones actuales ordenadas por título (Árbol Rojo-Negro)
      */
     private void ordenarPorTitulo() {
         try {
@@ -299,16 +415,10 @@ public class BibliotecaDlg extends BaseDlg {
                 return;
             }
             
-            // Ordenar usando Bubble Sort
-            cancionesActuales.ordenarBubbleSort((c1, c2) -> 
-                c1.getTitulo().compareToIgnoreCase(c2.getTitulo())
-            );
-            
-            // Actualizar tabla
-            actualizarTabla();
+            ordenarVista(POR_TITULO);
             
             JOptionPane.showMessageDialog(this,
-                "Canciones ordenadas por título (Bubble Sort)",
+                "Canciones ordenadas por título (Árbol Rojo-Negro)",
                 "Ordenamiento Exitoso", JOptionPane.INFORMATION_MESSAGE);
                 
         } catch (Exception e) {
@@ -319,7 +429,7 @@ public class BibliotecaDlg extends BaseDlg {
     }
     
     /**
-     * Ordena las canciones actuales por artista usando Insertion Sort
+     * Muestra las canciones actuales ordenadas por artista (Árbol Rojo-Negro)
      */
     private void ordenarPorArtista() {
         try {
@@ -330,16 +440,10 @@ public class BibliotecaDlg extends BaseDlg {
                 return;
             }
             
-            // Ordenar usando Insertion Sort
-            cancionesActuales.ordenarInsertionSort((c1, c2) -> 
-                c1.getArtista().compareToIgnoreCase(c2.getArtista())
-            );
-            
-            // Actualizar tabla
-            actualizarTabla();
+            ordenarVista(POR_ARTISTA);
             
             JOptionPane.showMessageDialog(this,
-                "Canciones ordenadas por artista (Insertion Sort)",
+                "Canciones ordenadas por artista (Árbol Rojo-Negro)",
                 "Ordenamiento Exitoso", JOptionPane.INFORMATION_MESSAGE);
                 
         } catch (Exception e) {
@@ -349,14 +453,103 @@ public class BibliotecaDlg extends BaseDlg {
         }
     }
     
+    /**
+     * Muestra las canciones actuales en el orden del comparador
+     * El árbol se construye la primera vez que se pide ese orden, O(n log n);
+     * si ya es el orden activo solo se recorre, O(n)
+     */
+    private void ordenarVista(MiLista.Comparador<Cancion> comparador) {
+        if (ordenActivo != comparador) {
+            MiArbol<Cancion> arbol = new MiArbol<>(comparador);
+            for (Cancion cancion : cancionesActuales) {
+                arbol.insertar(cancion);
+            }
+            vistaOrdenada = arbol;
+            ordenActivo = comparador;
+        }
+        refrescarVista();
+    }
+    
+    /**
+     * Índice por id de las canciones mostradas; se arma en O(n) la primera
+     * vez que se usa después de una búsqueda
+     */
+    private MiMapaLong<Cancion> indice() {
+        if (indicePorId == null) {
+            indicePorId = new MiMapaLong<>(cancionesActuales.tamanio());
+            for (Cancion cancion : cancionesActuales) {
+                if (cancion.getId() != null) { // Sin id no se puede buscar por id
+                    indicePorId.poner(cancion.getId(), cancion);
+                }
+            }
+        }
+        return indicePorId;
+    }
+    
+    /**
+     * Quita de la vista una canción eliminada sin volver a consultar la base de datos
+     * Complejidad: O(log n) en el árbol activo y el índice
+     */
+    private void quitarCancion(Long id) {
+        Cancion cancion = indice().obtener(id);
+        if (cancion == null) {
+            eventoBotonBuscar();
+            return;
+        }
+        
+        indicePorId.eliminar(id);
+        if (vistaOrdenada != null) {
+            vistaOrdenada.eliminar(cancion);
+        } else {
+            cancionesActuales.eliminar(cancionesActuales.buscar(cancion));
+        }
+        refrescarVista();
+    }
+    
+    /**
+     * Vuelve a leer una canción editada y la reubica en el árbol activo
+     * Se quita con sus datos anteriores y se inserta con los nuevos
+     */
+    private void reemplazarCancion(Long id) throws Exception {
+        Cancion anterior = indice().obtener(id);
+        Cancion actualizada = controller.obtenerPorId(id);
+        if (anterior == null || actualizada == null) {
+            eventoBotonBuscar();
+            return;
+        }
+        
+        indicePorId.poner(id, actualizada);
+        if (vistaOrdenada != null) {
+            vistaOrdenada.eliminar(anterior);
+            vistaOrdenada.insertar(actualizada);
+        } else {
+            // Conservar el orden de búsqueda
+            MiLista<Cancion> canciones = new MiListaIndexada<>();
+            for (Cancion cancion : cancionesActuales) {
+                canciones.agregar(cancion == anterior ? actualizada : cancion);
+            }
+            cancionesActuales = canciones;
+        }
+        refrescarVista();
+    }
+    
+    /**
+     * Toma el orden del árbol activo (si hay uno) y redibuja la tabla
+     */
+    private void refrescarVista() {
+        if (vistaOrdenada != null) {
+            cancionesActuales = vistaOrdenada.aLista();
+        }
+        actualizarTabla();
+    }
+    
     /**
      * Actualiza la tabla con las canciones actuales
      */
     private void actualizarTabla() {
         limpiarTabla();
         
-        for (int i = 0; i < cancionesActuales.tamanio(); i++) {
-            Cancion cancion = cancionesActuales.obtener(i);
+        for (Cancion cancion : cancionesActuales) {
             Object[] fila = {
                 cancion.getId(),
                 cancion.getTitulo(),
@@ -4,6 +4,7 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import org.upemor.reproductor.logica.Reproductor;
 import org.upemor.reproductor.model.entity.Cancion;
+import org.upemor.reproductor.estructuras.Instantanea;
 import org.upemor.reproductor.estructuras.MiLista;
 import java.awt.*;
 
@@ -12,10 +13,16 @@ import java.awt.*;
  * @author Sistema Reproductor
  */
 public class HistorialDlg extends JPanel {
+    private static final int TAMANIO_PAGINA = 100;
+    
     private Reproductor reproductor;
     private JTable tablaHistorial;
     private DefaultTableModel modeloHistorial;
     private JLabel lblContador;
+    private JLabel lblPagina;
+    private int paginaActual;
+    private Instantanea<Cancion> recientes; // Historial en memoria al último refresco
+    private MiLista<Cancion> paginaDisco;    // Página leída del disco (null si no hizo falta)
     
     public HistorialDlg(Reproductor reproductor) {
         this.reproductor = reproductor;
@@ -132,6 +139,19 @@ public class HistorialDlg extends JPanel {
         JButton btnLimpiar = crearBoton("🗑️ Limpiar Historial", new Color(244, 67, 54));
         btnLimpiar.addActionListener(e -> limpiarHistorial());
         
+        // Navegación por páginas (el historial antiguo se lee del disco)
+        JButton btnPaginaAnterior = crearBoton("◀ Más recientes", new Color(96, 125, 139));
+        btnPaginaAnterior.addActionListener(e -> cambiarPagina(-1));
+        
+        JButton btnPaginaSiguiente = crearBoton("Más antiguas ▶", new Color(96, 125, 139));
+        btnPaginaSiguiente.addActionListener(e -> cambiarPagina(1));
+        
+        lblPagina = new JLabel("Página 1 de 1");
+        lblPagina.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        
+        panel.add(btnPaginaAnterior);
+        panel.add(lblPagina);
+        panel.add(btnPaginaSiguiente);
         panel.add(btnReproducir);
         panel.add(btnActualizar);
         panel.add(btnLimpiar);
@@ -180,11 +200,10 @@ public class HistorialDlg extends JPanel {
             return;
         }
         
-        // Obtener la canción del historial
-        MiLista<Cancion> historial = reproductor.obtenerHistorial();
+        // Obtener la canción de la página mostrada
+        Cancion cancion = cancionEnFila(filaSeleccionada);
         
-        if (filaSeleccionada < historial.tamanio()) {
-            Cancion cancion = historial.obtener(filaSeleccionada);
+        if (cancion != null) {
             
             // Agregar a la cola y reproducir
             reproductor.agregarACola(cancion);
@@ -217,6 +236,7 @@ public class HistorialDlg extends JPanel {
         
         if (confirmacion == JOptionPane.YES_OPTION) {
             reproductor.limpiarHistorial();
+            paginaActual = 0;
             actualizarInterfaz();
             
             JOptionPane.showMessageDialog(this,
@@ -226,6 +246,30 @@ public class HistorialDlg extends JPanel {
         }
     }
     
+    /**
+     * Canción mostrada en una fila de la página actual
+     */
+    private Cancion cancionEnFila(int fila) {
+        if (paginaDisco != null) {
+            return paginaDisco.obtener(fila);
+        }
+        return recientes != null ? recientes.obtener(paginaActual * TAMANIO_PAGINA + fila) : null;
+    }
+    
+    /**
+     * Avanza o retrocede una página del historial
+     */
+    private void cambiarPagina(int delta) {
+        int total = reproductor.getTamanoHistorial();
+        int totalPaginas = Math.max(1, (total + TAMANIO_PAGINA - 1) / TAMANIO_PAGINA);
+        int nueva = paginaActual + delta;
+        
+        if (nueva >= 0 && nueva < totalPaginas) {
+            paginaActual = nueva;
+            actualizarInterfaz();
+        }
+    }
+    
     /**
      * Actualiza la interfaz con los datos actuales del historial
      */
@@ -235,17 +279,33 @@ public class HistorialDlg extends JPanel {
             modeloHistorial.removeRow(0);
         }
         
-        // Obtener historial
-        MiLista<Cancion> historial = reproductor.obtenerHistorial();
+        // Actualizar contador y página
+        int total = reproductor.getTamanoHistorial();
+        int totalPaginas = Math.max(1, (total + TAMANIO_PAGINA - 1) / TAMANIO_PAGINA);
+        paginaActual = Math.min(paginaActual, totalPaginas - 1);
+        
+        lblContador.setText(total + " canción(es) reproducida(s)");
+        lblPagina.setText("Página " + (paginaActual + 1) + " de " + totalPaginas);
         
-        // Actualizar contador
-        lblContador.setText(historial.tamanio() + " canción(es) reproducida(s)");
+        // La parte en memoria se lee de una instantánea (O(1), sin copiar);
+        // solo las páginas más antiguas se leen del disco
+        if (recientes != null) {
+            recientes.soltar(); // La del refresco anterior ya no se usa
+        }
+        recientes = reproductor.obtenerHistorial();
+        int desde = paginaActual * TAMANIO_PAGINA;
+        int hasta = Math.min(desde + TAMANIO_PAGINA, total);
+        paginaDisco = hasta > recientes.tamanio()
+            ? reproductor.obtenerHistorial(paginaActual, TAMANIO_PAGINA)
+            : null;
         
-        // Llenar tabla (en orden inverso para mostrar la más reciente primero)
-        for (int i = historial.tamanio() - 1; i >= 0; i--) {
-            Cancion cancion = historial.obtener(i);
+        for (int i = 0; i < hasta - desde; i++) {
+            Cancion cancion = cancionEnFila(i);
+            if (cancion == null) {
+                break;
+            }
             Object[] fila = {
-                (historial.tamanio() - i), // Número en orden descendente
+                desde + i + 1, // 1 = la más reciente
                 cancion.getTitulo(),
                 cancion.getArtista(),
                 cancion.getAlbum() != null ? cancion.getAlbum() : "N/A",
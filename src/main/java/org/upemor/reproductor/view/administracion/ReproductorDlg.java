@@ -4,7 +4,7 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import org.upemor.reproductor.logica.Reproductor;
 import org.upemor.reproductor.model.entity.Cancion;
-import org.upemor.reproductor.estructuras.MiLista;
+import org.upemor.reproductor.estructuras.Instantanea;
 import java.awt.*;
 
 /**
@@ -12,6 +12,9 @@ import java.awt.*;
  * @author Sistema Reproductor
  */
 public class ReproductorDlg extends JPanel {
+    /** Canciones seguidas en las que no se repite artista al mezclar */
+    private static final int VENTANA_ARTISTA = 3;
+    
     private Reproductor reproductor;
     
     // Componentes de canción actual
@@ -199,8 +202,19 @@ public class ReproductorDlg extends JPanel {
         scroll.setBorder(BorderFactory.createLineBorder(Color.GRAY));
         panel.add(scroll, BorderLayout.CENTER);
         
-        // Botón limpiar cola
+        // Botones mezclar y limpiar cola
         JPanel panelBoton = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 10));
+        JButton btnMezclar = new JButton("🔀 Mezclar");
+        btnMezclar.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        btnMezclar.setBackground(new Color(0, 150, 136));
+        btnMezclar.setForeground(Color.WHITE);
+        btnMezclar.setFocusPainted(false);
+        btnMezclar.setBorderPainted(false);
+        btnMezclar.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        btnMezclar.setPreferredSize(new Dimension(170, 40));
+        btnMezclar.setToolTipText("Mezcla sin repetir artista en " + VENTANA_ARTISTA + " canciones seguidas");
+        btnMezclar.addActionListener(e -> mezclarCola());
+        
         JButton btnLimpiarCola = new JButton("🗑️ Limpiar Cola");
         btnLimpiarCola.setFont(new Font("Segoe UI", Font.BOLD, 13));
         btnLimpiarCola.setBackground(new Color(244, 67, 54));
@@ -211,6 +225,7 @@ public class ReproductorDlg extends JPanel {
         btnLimpiarCola.setPreferredSize(new Dimension(170, 40));
         btnLimpiarCola.addActionListener(e -> limpiarCola());
         
+        panelBoton.add(btnMezclar);
         panelBoton.add(btnLimpiarCola);
         panel.add(panelBoton, BorderLayout.SOUTH);
         
@@ -297,6 +312,14 @@ public class ReproductorDlg extends JPanel {
         }
     }
     
+    /**
+     * Mezcla la cola sin repetir artista en canciones cercanas
+     */
+    private void mezclarCola() {
+        reproductor.mezclarColaSinRepetirArtista(VENTANA_ARTISTA);
+        actualizarInterfaz();
+    }
+    
     /**
      * Actualiza toda la interfaz con los datos actuales
      */
@@ -326,14 +349,24 @@ public class ReproductorDlg extends JPanel {
             modeloCola.removeRow(0);
         }
         
-        // Obtener canciones de la cola
-        MiLista<Cancion> cola = reproductor.obtenerCola();
+        // Primero las canciones con prioridad, luego la cola normal
+        Instantanea<Cancion> prioritarias = reproductor.obtenerColaPrioritaria(); // Se recalcula solo si cambió
+        Instantanea<Cancion> cola = reproductor.obtenerCola(); // Instantánea, sin copiar
         
         // Llenar tabla con numeración
-        for (int i = 0; i < cola.tamanio(); i++) {
-            Cancion cancion = cola.obtener(i);
+        int posicion = agregarFilasCola(prioritarias, 1);
+        agregarFilasCola(cola, posicion);
+        cola.soltar(); // La tabla ya tiene sus filas: la cola puede volver a escribir sin copiar
+    }
+    
+    /**
+     * Agrega canciones a la tabla de cola numerándolas desde 'posicion'
+     * @return La siguiente posición libre
+     */
+    private int agregarFilasCola(Iterable<Cancion> canciones, int posicion) {
+        for (Cancion cancion : canciones) {
             Object[] fila = {
-                (i + 1), // Número en la cola
+                posicion++, // Número en la cola
                 cancion.getTitulo(),
                 cancion.getArtista(),
                 cancion.getAlbum() != null ? cancion.getAlbum() : "N/A",
@@ -341,5 +374,6 @@ public class ReproductorDlg extends JPanel {
             };
             modeloCola.addRow(fila);
         }
+        return posicion;
     }
 }